@@ -0,0 +1,54 @@
+#!/bin/sh
+# Throughput of 1, 2, 4... backend nodes on localhost, each on its own CPUs when taskset is available.
+# Needs ../target/cavacamisa-backend-1.0.0-exec.jar (mvn package in backend/) and target/benchmarks.jar.
+# Usage: ./cluster-test.sh <label> [seconds] [node counts...]
+set -e
+
+LABEL=${1:-latest}
+RUN_SECONDS=${2:-60}
+[ $# -gt 0 ] && shift
+[ $# -gt 0 ] && shift
+NODE_COUNTS=${*:-1 2 4}
+BACKEND=../target/cavacamisa-backend-1.0.0-exec.jar
+BASE_PORT=8091
+CORES_PER_NODE=${CORES_PER_NODE:-2}
+WORKERS_PER_NODE=${WORKERS_PER_NODE:-64}
+mkdir -p results
+
+for COUNT in $NODE_COUNTS; do
+    # Static membership: every node gets the same list, so all of them build the same ring
+    NODES=""
+    MEMBERS=""
+    for I in $(seq 1 "$COUNT"); do
+        NODES="$NODES --cavacamisa.cluster.nodes.node$I=http://localhost:$((BASE_PORT + I - 1))"
+        MEMBERS="$MEMBERS node$I=http://localhost:$((BASE_PORT + I - 1))"
+    done
+
+    PIDS=""
+    for I in $(seq 1 "$COUNT"); do
+        PIN=""
+        if command -v taskset > /dev/null; then
+            PIN="taskset -c $(((I - 1) * CORES_PER_NODE))-$((I * CORES_PER_NODE - 1))"
+        fi
+        $PIN java -jar "$BACKEND" --server.port=$((BASE_PORT + I - 1)) \
+            --cavacamisa.shards.count="$CORES_PER_NODE" \
+            --cavacamisa.cluster.enabled=true --cavacamisa.cluster.node-id="node$I" $NODES \
+            > "results/server-$LABEL-cluster$COUNT-node$I.log" 2>&1 &
+        PIDS="$PIDS $!"
+    done
+    for I in $(seq 1 "$COUNT"); do
+        until curl -sf "http://localhost:$((BASE_PORT + I - 1))/actuator/health" > /dev/null; do sleep 1; done
+    done
+
+    java -cp target/benchmarks.jar com.cavacamisa.benchmarks.ClusterLoad \
+        "$LABEL" "$RUN_SECONDS" $((COUNT * WORKERS_PER_NODE)) $MEMBERS
+
+    kill $PIDS
+    for PID in $PIDS; do
+        wait "$PID" 2>/dev/null || true
+    done
+done
+
+# Speedup of each run over the first one
+awk -F, 'NR == 2 { base = $7 } NR > 1 && base > 0 { printf "%s nodes: %.0f moves/s, %.2fx\n", $1, $7, $7 / base }' \
+    "results/cluster-$LABEL.csv"
@@ -0,0 +1,37 @@
+#!/bin/sh
+# Idle-client load test of the backend in both request execution modes, plus the WebFlux module if built.
+# Needs ../target/cavacamisa-backend-1.0.0-exec.jar (mvn package in backend/) and target/benchmarks.jar.
+# Usage: ./load-test.sh <label> [seconds] [client counts...]
+set -e
+
+LABEL=${1:-latest}
+RUN_SECONDS=${2:-60}
+[ $# -gt 0 ] && shift
+[ $# -gt 0 ] && shift
+CLIENTS=${*:-1000 10000}
+PORT=8090
+BACKEND=../target/cavacamisa-backend-1.0.0-exec.jar
+REACTIVE=../reactive/target/cavacamisa-backend-reactive-1.0.0.jar
+MODES="platform virtual-threads"
+[ -f "$REACTIVE" ] && MODES="$MODES reactive"
+mkdir -p results
+
+# Each client holds two connections (event stream + requests)
+ulimit -n 65536 2>/dev/null || echo "Could not raise the open file limit; 10k clients need about 20k sockets per side"
+
+for MODE in $MODES; do
+    JAR=$BACKEND
+    PROFILE=""
+    [ "$MODE" = "virtual-threads" ] && PROFILE="--spring.profiles.active=virtual-threads"
+    [ "$MODE" = "reactive" ] && JAR=$REACTIVE
+    for COUNT in $CLIENTS; do
+        # A fresh server per run, so one run's games do not weigh on the next
+        java -jar "$JAR" --server.port=$PORT $PROFILE > "results/server-$LABEL-$MODE-$COUNT.log" 2>&1 &
+        SERVER=$!
+        until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+        java -cp target/benchmarks.jar com.cavacamisa.benchmarks.IdleClientsLoad \
+            "http://localhost:$PORT" "$COUNT" "$RUN_SECONDS" "$LABEL-$MODE"
+        kill $SERVER
+        wait $SERVER 2>/dev/null || true
+    done
+done
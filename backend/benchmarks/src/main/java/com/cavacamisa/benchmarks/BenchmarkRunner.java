@@ -0,0 +1,46 @@
+package com.cavacamisa.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs every benchmark with the GC profiler and writes one CSV per run under results/, named
+ * after the first argument (e.g. the commit id), so two runs can be compared with a plain diff.
+ * An optional second argument restricts the run to benchmarks matching that regex.
+ */
+public class BenchmarkRunner {
+    private static final int[] SERVICE_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        String label = args.length > 0 ? args[0] : "latest";
+        String include = args.length > 1 ? args[1] : ".*";
+        new File("results").mkdirs();
+
+        new Runner(options(include, "results/" + label + ".csv")
+                .exclude(GameServiceBenchmark.class.getSimpleName())
+                .build()).run();
+
+        if (GameServiceBenchmark.class.getName().matches(".*" + include + ".*")) {
+            for (int threads : SERVICE_THREADS) {
+                new Runner(options(GameServiceBenchmark.class.getSimpleName(),
+                        "results/" + label + "-service-" + threads + "t.csv")
+                        .threads(threads)
+                        .build()).run();
+            }
+        }
+    }
+
+    private static ChainedOptionsBuilder options(String include, String resultFile) {
+        return new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(resultFile);
+    }
+}
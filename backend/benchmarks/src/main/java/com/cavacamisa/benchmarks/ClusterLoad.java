@@ -0,0 +1,181 @@
+package com.cavacamisa.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saturation load against a cluster of backend nodes, for the throughput per node count.
+ *
+ * Each worker plays games back to back with no think time: it creates a game and two players
+ * through a random node, which places the game on the node the hash ring picks, then sends every
+ * move straight to the node named in the game id, as nginx would. A game is deleted after
+ * {@value #MAX_MOVES} moves so long games don't pile up. Moves per second after the warmup are
+ * appended to results/cluster-&lt;label&gt;.csv with the node count, so runs with 1, 2, 4 nodes
+ * show how throughput grows as nodes are added.
+ *
+ * Usage: ClusterLoad &lt;label&gt; &lt;seconds&gt; &lt;workers&gt; &lt;nodeId=baseUrl&gt;... [--warmup=seconds]
+ */
+public class ClusterLoad {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_MOVES = 400;
+
+    private final Map<String, String> nodes;
+    private final List<String> urls;
+    private final HttpClient http;
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean measuring;
+
+    ClusterLoad(Map<String, String> nodes) {
+        this.nodes = nodes;
+        this.urls = List.copyOf(nodes.values());
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: ClusterLoad <label> <seconds> <workers> <nodeId=baseUrl>... [--warmup=seconds]");
+            System.exit(1);
+        }
+        String label = args[0];
+        int seconds = Integer.parseInt(args[1]);
+        int workers = Integer.parseInt(args[2]);
+        int warmupSeconds = 10;
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith("--warmup=")) {
+                warmupSeconds = Integer.parseInt(args[i].substring("--warmup=".length()));
+            } else {
+                String[] node = args[i].split("=", 2);
+                nodes.put(node[0], node[1]);
+            }
+        }
+        new ClusterLoad(nodes).run(workers, seconds, warmupSeconds, label);
+        System.exit(0);
+    }
+
+    void run(int workers, int seconds, int warmupSeconds, String label) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < workers; i++) {
+                executor.submit(this::work);
+            }
+            Thread.sleep(Duration.ofSeconds(warmupSeconds));
+            measuring = true;
+            Thread.sleep(Duration.ofSeconds(seconds));
+            measuring = false;
+            running = false;
+        }
+
+        String row = String.format("%d,%d,%d,%d,%d,%d,%.1f", nodes.size(), workers, seconds,
+                moves.get(), games.get(), errors.get(), moves.get() / (double) seconds);
+        System.out.println("nodes,workers,seconds,moves,games,errors,movesPerSecond");
+        System.out.println(row);
+
+        Path results = Path.of("results", "cluster-" + label + ".csv");
+        Files.createDirectories(results.getParent());
+        boolean header = !Files.exists(results);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(results,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                out.println("nodes,workers,seconds,moves,games,errors,movesPerSecond");
+            }
+            out.println(row);
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                playGame();
+            } catch (RuntimeException e) {
+                if (running) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void playGame() {
+        String entry = urls.get(ThreadLocalRandom.current().nextInt(urls.size()));
+        String gameId = post(entry, "/api/game", "{}").get("id").asText();
+        String owner = ownerOf(gameId);
+        String[] playerIds = new String[2];
+        JsonNode game = null;
+        for (int seat = 0; seat < 2; seat++) {
+            playerIds[seat] = post(entry, "/api/game/player", "{\"name\":\"cluster-" + seat + "\"}").get("id").asText();
+            game = post(owner, "/api/game/" + gameId + "/join", "{\"playerId\":\"" + playerIds[seat] + "\"}");
+        }
+        for (int move = 0; move < MAX_MOVES && running && !game.get("gameFinished").asBoolean(); move++) {
+            String playerId = playerIds[game.get("currentPlayerIndex").asInt()];
+            game = post(owner, "/api/game/" + gameId + "/play", "{\"playerId\":\"" + playerId + "\"}");
+            if (measuring) {
+                moves.incrementAndGet();
+            }
+        }
+        if (measuring) {
+            games.incrementAndGet();
+        }
+        delete(owner, "/api/game/" + gameId);
+        for (String playerId : playerIds) {
+            delete(entry, "/api/game/player/" + playerId);
+        }
+    }
+
+    // The node prefix of the id, as nginx reads it
+    private String ownerOf(String id) {
+        int separator = id.indexOf('.');
+        String url = separator > 0 ? nodes.get(id.substring(0, separator)) : null;
+        return url != null ? url : urls.get(0);
+    }
+
+    private JsonNode post(String baseUrl, String path, String body) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void delete(String baseUrl, String path) {
+        send(HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build());
+    }
+
+    private JsonNode send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+            }
+            return response.body().length > 0 ? MAPPER.readTree(response.body()) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+}
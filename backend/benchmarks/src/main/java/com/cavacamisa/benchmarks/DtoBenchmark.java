@@ -0,0 +1,48 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.model.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = GameBenchmark.newGame(42);
+        // Mid-game position with cards on the table and uneven decks
+        for (int i = 0; i < 30 && !game.isGameFinished(); i++) {
+            game.playCard(game.getCurrentPlayer().getId());
+        }
+    }
+
+    // Includes the nested PlayerDto and CardDto construction for both decks and the table
+    @Benchmark
+    public GameDto gameDto() {
+        return new GameDto(game);
+    }
+
+    // Projection served by the API: deck sizes only
+    @Benchmark
+    public GameDto gameDtoWithoutDecks() {
+        return new GameDto(game, false);
+    }
+
+    // The full debug view to JSON: the cards are copied in as pre-rendered bytes
+    @Benchmark
+    public byte[] gameDtoJson() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(new GameDto(game));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private long nextSeed;
+    private Game game;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        nextSeed = 1;
+        game = newGame(nextSeed++);
+    }
+
+    // One call to Game.playCard; a finished game is replaced by the next seeded deal
+    @Benchmark
+    public boolean playCard() {
+        if (game.isGameFinished()) {
+            game = newGame(nextSeed++);
+        }
+        return game.playCard(game.getCurrentPlayer().getId());
+    }
+
+    @Benchmark
+    public int fullGame() {
+        Game fresh = newGame(nextSeed++);
+        int moves = 0;
+        while (!fresh.isGameFinished()) {
+            fresh.playCard(fresh.getCurrentPlayer().getId());
+            moves++;
+        }
+        return moves;
+    }
+
+    // Creating a game and seating the second player deals the 40 cards
+    @Benchmark
+    public void dealCards(Blackhole blackhole) {
+        blackhole.consume(newGame(nextSeed++));
+    }
+
+    static Game newGame(long seed) {
+        Game game = new Game("benchmark-game", seed);
+        game.addPlayer(new Player("player1", "Player 1"));
+        game.addPlayer(new Player("player2", "Player 2"));
+        return game;
+    }
+}
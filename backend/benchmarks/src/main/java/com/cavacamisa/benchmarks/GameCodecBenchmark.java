@@ -0,0 +1,42 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.GameCodec;
+import com.cavacamisa.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameCodecBenchmark {
+
+    private Game game;
+    private byte[] encoded;
+    private List<Player> players;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = GameBenchmark.newGame(42);
+        for (int i = 0; i < 30 && !game.isGameFinished(); i++) {
+            game.playCard(game.getCurrentPlayer().getId());
+        }
+        encoded = GameCodec.encode(game);
+        players = List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2"));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public Game decode() {
+        return GameCodec.decode(encoded, "benchmark-game", players);
+    }
+}
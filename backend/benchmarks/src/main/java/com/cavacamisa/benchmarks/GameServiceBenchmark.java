@@ -0,0 +1,63 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.dto.CreatePlayerRequest;
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.dto.PlayCardRequest;
+import com.cavacamisa.service.GameService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameService.playCard with every benchmark thread driving its own game through one shared
+ * service. Run with several thread counts (BenchmarkRunner uses 1 to 64) to see contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedService {
+        GameService gameService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            gameService = new GameService();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnGame {
+        String gameId;
+        PlayCardRequest[] requests;
+        GameDto game;
+
+        @Setup(Level.Iteration)
+        public void setUp(SharedService shared) {
+            newGame(shared.gameService);
+        }
+
+        void newGame(GameService gameService) {
+            GameDto created = gameService.createGame();
+            String player1 = gameService.createPlayer(new CreatePlayerRequest("Player 1")).getId();
+            String player2 = gameService.createPlayer(new CreatePlayerRequest("Player 2")).getId();
+            gameService.joinGame(created.getId(), player1);
+            game = gameService.joinGame(created.getId(), player2);
+            gameId = created.getId();
+            requests = new PlayCardRequest[] {new PlayCardRequest(player1), new PlayCardRequest(player2)};
+        }
+    }
+
+    @Benchmark
+    public GameDto playCard(SharedService shared, OwnGame own) {
+        if (own.game.isGameFinished()) {
+            shared.gameService.deleteGame(own.gameId);
+            own.newGame(shared.gameService);
+        }
+        own.game = shared.gameService.playCard(own.gameId, own.requests[own.game.getCurrentPlayerIndex()]);
+        return own.game;
+    }
+}
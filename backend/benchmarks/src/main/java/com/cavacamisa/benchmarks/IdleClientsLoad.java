@@ -0,0 +1,278 @@
+package com.cavacamisa.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load test against a running backend with many long-lived, mostly idle clients.
+ *
+ * Each client is one seated player: it keeps an SSE subscription open on its game and, every
+ * think time (with jitter), asks for the changes since the version it has seen and plays a card
+ * when it is its turn. Latencies of those requests after the warmup give p50/p99/p99.9, and
+ * completed requests per second give the throughput. Results are appended to
+ * results/load-&lt;label&gt;.csv so the platform and virtual-thread runs can be compared.
+ *
+ * Usage: IdleClientsLoad &lt;baseUrl&gt; &lt;clients&gt; &lt;seconds&gt; [label] [thinkMillis] [warmupSeconds]
+ */
+public class IdleClientsLoad {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int SETUP_PARALLELISM = 64;
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final long thinkMillis;
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong pushes = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile long measureFrom;
+
+    IdleClientsLoad(String baseUrl, long thinkMillis) {
+        this.baseUrl = baseUrl;
+        this.thinkMillis = thinkMillis;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: IdleClientsLoad <baseUrl> <clients> <seconds> [label] [thinkMillis] [warmupSeconds]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        int seconds = Integer.parseInt(args[2]);
+        String label = args.length > 3 ? args[3] : "latest";
+        long thinkMillis = args.length > 4 ? Long.parseLong(args[4]) : 2000;
+        int warmupSeconds = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+        new IdleClientsLoad(baseUrl, thinkMillis).run(clients, seconds, warmupSeconds, label);
+        System.exit(0);
+    }
+
+    void run(int clientCount, int seconds, int warmupSeconds, String label) throws Exception {
+        long setupStart = System.nanoTime();
+        List<Client> clients = seat(clientCount);
+        System.out.printf("Seated %d clients in %d ms%n", clients.size(),
+                Duration.ofNanos(System.nanoTime() - setupStart).toMillis());
+
+        ExecutorService listeners = Executors.newVirtualThreadPerTaskExecutor();
+        for (Client client : clients) {
+            listeners.submit(client::listen);
+        }
+        try (ExecutorService actors = Executors.newVirtualThreadPerTaskExecutor()) {
+            measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+            for (Client client : clients) {
+                actors.submit(client::act);
+            }
+            Thread.sleep(Duration.ofSeconds(warmupSeconds + seconds));
+            running = false;
+            actors.shutdownNow(); // Interrupts the think-time sleeps; closing waits for requests in flight
+        }
+        listeners.shutdownNow(); // The event streams end with the JVM
+
+        long[] latencies = clients.stream().flatMapToLong(client -> Arrays.stream(client.latencies, 0, client.count)).sorted().toArray();
+        double throughput = latencies.length / (double) seconds;
+        String row = String.format("%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d",
+                clientCount, seconds, latencies.length, errors.get(), throughput,
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999), percentileMillis(latencies, 1.0), pushes.get());
+        System.out.println("clients,seconds,requests,errors,requestsPerSecond,p50Ms,p99Ms,p999Ms,maxMs,pushes");
+        System.out.println(row);
+
+        Path results = Path.of("results", "load-" + label + ".csv");
+        Files.createDirectories(results.getParent());
+        boolean header = !Files.exists(results);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(results,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (header) {
+                out.println("clients,seconds,requests,errors,requestsPerSecond,p50Ms,p99Ms,p999Ms,maxMs,pushes");
+            }
+            out.println(row);
+        }
+    }
+
+    // Two clients per game, created and joined with bounded parallelism
+    private List<Client> seat(int clientCount) throws InterruptedException {
+        List<Client> clients = new ArrayList<>();
+        Semaphore permits = new Semaphore(SETUP_PARALLELISM);
+        List<Thread> setups = new ArrayList<>();
+        Client[] seated = new Client[clientCount - clientCount % 2];
+        for (int pair = 0; pair < seated.length / 2; pair++) {
+            int first = pair * 2;
+            permits.acquire();
+            setups.add(Thread.ofVirtual().start(() -> {
+                try {
+                    String gameId = post("/api/game", "{}").get("id").asText();
+                    for (int seat = 0; seat < 2; seat++) {
+                        String playerId = post("/api/game/player", "{\"name\":\"load-" + (first + seat) + "\"}").get("id").asText();
+                        JsonNode game = post("/api/game/" + gameId + "/join", "{\"playerId\":\"" + playerId + "\"}");
+                        seated[first + seat] = new Client(gameId, playerId, seat, game);
+                    }
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        for (Thread setup : setups) {
+            setup.join();
+        }
+        for (Client client : seated) {
+            if (client != null) {
+                clients.add(client);
+            }
+        }
+        return clients;
+    }
+
+    private JsonNode post(String path, String body) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private JsonNode get(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+    }
+
+    private JsonNode send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+            }
+            return MAPPER.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private final class Client {
+        final String gameId;
+        final String playerId;
+        final int seat;
+        long version;
+        int currentPlayerIndex;
+        boolean playing;
+        long[] latencies = new long[64];
+        int count;
+
+        Client(String gameId, String playerId, int seat, JsonNode joined) {
+            this.gameId = gameId;
+            this.playerId = playerId;
+            this.seat = seat;
+            applySnapshot(joined);
+        }
+
+        // The long-lived connection: an SSE subscription that mostly sits idle
+        void listen() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/game/" + gameId + "/events"))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> lines = response.body()) {
+                    lines.filter(line -> line.startsWith("id:")).forEach(line -> pushes.incrementAndGet());
+                }
+            } catch (IOException | UncheckedIOException e) {
+                if (running) {
+                    errors.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void act() {
+            while (running) {
+                try {
+                    Thread.sleep(thinkMillis / 2 + ThreadLocalRandom.current().nextLong(thinkMillis + 1));
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    long start = System.nanoTime();
+                    JsonNode delta = get("/api/game/" + gameId + "/delta?since=" + version);
+                    record(start);
+                    applyDelta(delta);
+                    if (playing && currentPlayerIndex == seat) {
+                        start = System.nanoTime();
+                        JsonNode game = post("/api/game/" + gameId + "/play", "{\"playerId\":\"" + playerId + "\"}");
+                        record(start);
+                        applySnapshot(game);
+                    }
+                } catch (RuntimeException e) {
+                    if (running) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }
+        }
+
+        private void record(long start) {
+            long end = System.nanoTime();
+            if (start < measureFrom || !running) {
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = end - start;
+        }
+
+        private void applyDelta(JsonNode delta) {
+            if (delta.hasNonNull("snapshot")) {
+                applySnapshot(delta.get("snapshot"));
+                return;
+            }
+            JsonNode events = delta.get("events");
+            if (events != null && !events.isEmpty()) {
+                JsonNode last = events.get(events.size() - 1);
+                currentPlayerIndex = last.get("currentPlayerIndex").asInt();
+                playing = "PLAYING".equals(last.get("state").asText());
+            }
+            version = delta.get("toVersion").asLong();
+        }
+
+        private void applySnapshot(JsonNode game) {
+            version = game.get("version").asLong();
+            currentPlayerIndex = game.get("currentPlayerIndex").asInt();
+            playing = game.get("players").size() == 2 && !game.get("gameFinished").asBoolean();
+        }
+    }
+}
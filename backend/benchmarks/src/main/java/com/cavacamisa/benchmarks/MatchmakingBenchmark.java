@@ -0,0 +1,44 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.dto.CreatePlayerRequest;
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.service.GameService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matchmaking enqueues from many threads at once: every operation creates a player and queues it,
+ * so every second one deals a new game. The target is tens of thousands of enqueues per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class MatchmakingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedService {
+        GameService gameService;
+
+        // A fresh service per iteration keeps the game count from growing across the run
+        @Setup(Level.Iteration)
+        public void setUp() {
+            gameService = new GameService();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            gameService.shutdown();
+        }
+    }
+
+    @Benchmark
+    public CompletableFuture<GameDto> enqueue(SharedService shared) {
+        String playerId = shared.gameService.createPlayer(new CreatePlayerRequest("Player")).getId();
+        return shared.gameService.enqueueForMatchAsync(playerId);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.model.Card;
+import com.cavacamisa.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    private Player player;
+    private List<Card> pile;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        player = new Player("player1", "Player 1");
+        for (int ordinal = 0; ordinal < 20; ordinal++) {
+            player.addCardToDeck(Card.fromOrdinal(ordinal));
+        }
+        pile = new ArrayList<>();
+    }
+
+    // Steady state: every drawn card goes straight back to the bottom
+    @Benchmark
+    public Card drawCard() {
+        Card card = player.drawCard();
+        player.addCardToDeck(card);
+        return card;
+    }
+
+    // Draws a four-card pile and captures it back, like a Tre penalty being paid
+    @Benchmark
+    public int captureCards() {
+        pile.clear();
+        for (int i = 0; i < 4; i++) {
+            pile.add(player.drawCard());
+        }
+        player.captureCards(pile);
+        return player.getDeckSize();
+    }
+}
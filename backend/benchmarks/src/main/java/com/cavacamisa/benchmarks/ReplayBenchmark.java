@@ -0,0 +1,36 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.model.GameReplay;
+import com.cavacamisa.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    // seed:version:moveCount as served by GET /api/game/{id}/replay (hex seed); pass -p replay=... to rerun a production game
+    @Param({"2:282:280"})
+    public String replay;
+
+    private GameReplay record;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] parts = replay.split(":");
+        record = new GameReplay(Long.parseUnsignedLong(parts[0], 16), Long.parseLong(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    // Deal plus every recorded move
+    @Benchmark
+    public long replayGame() {
+        return record.replay("benchmark-game", List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2")))
+                .getVersion();
+    }
+}
@@ -0,0 +1,25 @@
+package com.cavacamisa.benchmarks;
+
+import com.cavacamisa.simulation.GameSimulator;
+import com.cavacamisa.simulation.SimulationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulatorBenchmark {
+
+    private final GameSimulator simulator = new GameSimulator();
+    private long nextSeed;
+
+    // Games per second on one thread; GameSimulator.simulate spreads this over all cores
+    @Benchmark
+    public SimulationResult playOut() {
+        return simulator.playOut(nextSeed++);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cavacamisa.reactive;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.controller.HealthController;
+import com.cavacamisa.jfr.FlightRecordingEndpoint;
+import com.cavacamisa.jfr.GameFlightRecorder;
+import com.cavacamisa.service.GameResponseCache;
+import com.cavacamisa.service.GameService;
+import com.cavacamisa.service.GameUpdateBroadcaster;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The game API on WebFlux/Netty, on the same GameService as the servlet application. The servlet
+ * controllers are not scanned: only the service layer and the stack-neutral beans are imported.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(CavacamisaProperties.class)
+@Import({GameService.class, GameUpdateBroadcaster.class, GameResponseCache.class, GameFlightRecorder.class,
+        FlightRecordingEndpoint.class, HealthController.class})
+public class ReactiveCavacamisaApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveCavacamisaApplication.class);
+        // spring-webmvc is on the classpath for GameService's SseEmitter API: pick the reactive stack explicitly
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.run(args);
+    }
+}
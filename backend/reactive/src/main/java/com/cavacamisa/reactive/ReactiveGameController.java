@@ -0,0 +1,242 @@
+package com.cavacamisa.reactive;
+
+import com.cavacamisa.dto.*;
+import com.cavacamisa.model.GameState;
+import com.cavacamisa.service.GameFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Same paths, status codes and bodies as the servlet GameController, on WebFlux.
+ */
+@RestController
+@RequestMapping("/api/game")
+@CrossOrigin(origins = "*")
+@Tag(name = "Game", description = "Game management API (WebFlux)")
+public class ReactiveGameController {
+    private static final int MAX_MATCH_WAIT_SECONDS = 25; // Same cap as the servlet API
+
+    @Autowired
+    private ReactiveGameService gameService;
+
+    // Game management endpoints
+    @Operation(summary = "Create a new game")
+    @PostMapping
+    public Mono<ResponseEntity<GameDto>> createGame() {
+        return gameService.createGame().map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get game by ID")
+    @GetMapping("/{gameId}")
+    public Mono<ResponseEntity<GameDto>> getGame(@PathVariable String gameId,
+            @RequestParam(name = "includeDecks", defaultValue = "false") boolean includeDecks) {
+        if (!includeDecks) {
+            return toResponse(gameService.getGame(gameId));
+        }
+        if (!gameService.isDeckViewEnabled()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return toResponse(gameService.getGameWithDecks(gameId));
+    }
+
+    // Plain JSON reads of the public view, served from the per-version cache
+    @GetMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE, params = "!includeDecks")
+    public Mono<ResponseEntity<byte[]>> getGameJson(@PathVariable String gameId) {
+        return toResponse(gameService.getGameJson(gameId));
+    }
+
+    @Operation(summary = "Get changes since a game version")
+    @GetMapping("/{gameId}/delta")
+    public Mono<ResponseEntity<GameDeltaDto>> getDelta(@PathVariable String gameId, @RequestParam("since") long since) {
+        return toResponse(gameService.getDelta(gameId, since));
+    }
+
+    @Operation(summary = "Get the replay record of a game")
+    @GetMapping("/{gameId}/replay")
+    public Mono<ResponseEntity<GameReplayDto>> getReplay(@PathVariable String gameId) {
+        return toResponse(gameService.getReplay(gameId));
+    }
+
+    @Operation(summary = "List games")
+    @GetMapping
+    public Mono<ResponseEntity<GamePageDto>> listGames(
+            @RequestParam(name = "state", required = false) GameState state,
+            @RequestParam(name = "playerId", required = false) String playerId,
+            @RequestParam(name = "createdAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @RequestParam(name = "createdBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        GameFilter filter = new GameFilter(state, playerId, createdAfter, createdBefore);
+        return toResponse(gameService.listGames(filter, cursor, limit));
+    }
+
+    @Operation(summary = "List open games")
+    @GetMapping("/open")
+    public Mono<ResponseEntity<GamePageDto>> listOpenGames(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return toResponse(gameService.listOpenGames(cursor, limit));
+    }
+
+    @Operation(summary = "Stream games as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<GameSummaryDto>> streamGames(
+            @RequestParam(name = "state", required = false) GameState state,
+            @RequestParam(name = "playerId", required = false) String playerId,
+            @RequestParam(name = "createdAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @RequestParam(name = "createdBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        try {
+            GameFilter filter = new GameFilter(state, playerId, createdAfter, createdBefore);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(gameService.streamGames(filter, cursor));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Delete game by ID")
+    @DeleteMapping("/{gameId}")
+    public Mono<ResponseEntity<Void>> deleteGame(@PathVariable String gameId) {
+        return toEmptyResponse(gameService.deleteGame(gameId));
+    }
+
+    // Player management endpoints
+    @Operation(summary = "Create a new player")
+    @PostMapping("/player")
+    public Mono<ResponseEntity<PlayerDto>> createPlayer(@RequestBody CreatePlayerRequest request) {
+        return gameService.createPlayer(request).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get player by ID")
+    @GetMapping("/player/{playerId}")
+    public Mono<ResponseEntity<PlayerDto>> getPlayer(@PathVariable String playerId) {
+        return toResponse(gameService.getPlayer(playerId));
+    }
+
+    @Operation(summary = "Delete player by ID")
+    @DeleteMapping("/player/{playerId}")
+    public Mono<ResponseEntity<Void>> deletePlayer(@PathVariable String playerId) {
+        return toEmptyResponse(gameService.deletePlayer(playerId));
+    }
+
+    // Game action endpoints
+    @Operation(summary = "Join a game")
+    @PostMapping("/{gameId}/join")
+    public Mono<ResponseEntity<GameDto>> joinGame(@PathVariable String gameId, @RequestBody Map<String, String> request) {
+        String playerId = request.get("playerId");
+        if (playerId == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return toResponse(gameService.joinGame(gameId, playerId));
+    }
+
+    @Operation(summary = "Enter matchmaking")
+    @PostMapping("/matchmaking")
+    public Mono<ResponseEntity<GameDto>> enqueueForMatch(@RequestBody Map<String, String> request,
+            @RequestParam(name = "wait", defaultValue = "" + MAX_MATCH_WAIT_SECONDS) int wait) {
+        String playerId = request.get("playerId");
+        if (playerId == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return awaitMatch(gameService.enqueueForMatch(playerId), wait);
+    }
+
+    @Operation(summary = "Wait for a match")
+    @GetMapping("/matchmaking/{playerId}")
+    public Mono<ResponseEntity<GameDto>> getMatch(@PathVariable String playerId,
+            @RequestParam(name = "wait", defaultValue = "" + MAX_MATCH_WAIT_SECONDS) int wait) {
+        return awaitMatch(gameService.getMatch(playerId), wait);
+    }
+
+    @Operation(summary = "Leave matchmaking")
+    @DeleteMapping("/matchmaking/{playerId}")
+    public Mono<ResponseEntity<Void>> cancelMatch(@PathVariable String playerId) {
+        return toEmptyResponse(gameService.cancelMatch(playerId));
+    }
+
+    @Operation(summary = "Play a card")
+    @PostMapping("/{gameId}/play")
+    public Mono<ResponseEntity<GameDto>> playCard(@PathVariable String gameId, @RequestBody PlayCardRequest request) {
+        return toResponse(gameService.playCard(gameId, request));
+    }
+
+    @Operation(summary = "Play several cards in one request")
+    @PostMapping("/{gameId}/play-batch")
+    public Mono<ResponseEntity<MoveBatchDto>> playBatch(@PathVariable String gameId, @RequestBody PlayBatchRequest request) {
+        if (request.getPlayerId() == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return toResponse(gameService.playBatch(gameId, request));
+    }
+
+    @Operation(summary = "Play a game to the end (admin)")
+    @PostMapping("/{gameId}/fast-forward")
+    public Mono<ResponseEntity<MoveBatchDto>> fastForward(@PathVariable String gameId) {
+        if (!gameService.isFastForwardEnabled()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return toResponse(gameService.fastForward(gameId));
+    }
+
+    @Operation(summary = "Subscribe to game updates (Server-Sent Events)")
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<GameDto>>> subscribe(@PathVariable String gameId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "since", required = false) Long since) {
+        long lastSeenVersion = since != null ? since : -1L;
+        if (lastEventId != null) {
+            try {
+                lastSeenVersion = Long.parseLong(lastEventId);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (!gameService.gameExists(gameId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(gameService.updates(gameId, lastSeenVersion));
+    }
+
+    // Utility endpoints
+    @Operation(summary = "Check if game exists")
+    @GetMapping("/{gameId}/exists")
+    public Map<String, Boolean> gameExists(@PathVariable String gameId) {
+        return Map.of("exists", gameService.gameExists(gameId));
+    }
+
+    @Operation(summary = "Check if player exists")
+    @GetMapping("/player/{playerId}/exists")
+    public Map<String, Boolean> playerExists(@PathVariable String playerId) {
+        return Map.of("exists", gameService.playerExists(playerId));
+    }
+
+    // Same mapping as the servlet controller: unknown ids are 404, rejected moves 400
+    private static Mono<ResponseEntity<GameDto>> awaitMatch(Mono<GameDto> match, int wait) {
+        int seconds = Math.max(0, Math.min(wait, MAX_MATCH_WAIT_SECONDS));
+        return toResponse(match).timeout(Duration.ofSeconds(seconds), Mono.just(ResponseEntity.status(HttpStatus.ACCEPTED).build()));
+    }
+
+    private static <T> Mono<ResponseEntity<T>> toResponse(Mono<T> result) {
+        return result.map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.notFound().build()))
+                .onErrorResume(IllegalStateException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    private static Mono<ResponseEntity<Void>> toEmptyResponse(Mono<Void> result) {
+        return toResponse(result.then(Mono.just(Boolean.TRUE)))
+                .map(response -> ResponseEntity.status(response.getStatusCode()).build());
+    }
+}
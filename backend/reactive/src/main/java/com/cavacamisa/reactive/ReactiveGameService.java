@@ -0,0 +1,165 @@
+package com.cavacamisa.reactive;
+
+import com.cavacamisa.dto.*;
+import com.cavacamisa.service.GameFilter;
+import com.cavacamisa.service.GameService;
+import com.cavacamisa.service.GameUpdateBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking facade over GameService: shard futures become Monos, push updates become a Flux.
+ * Nothing here waits on a shard, so Netty event loop threads are never blocked. Creating and
+ * deleting games and players runs on the caller's thread in GameService and may wait on the
+ * journal lock, so those calls move to the bounded elastic scheduler.
+ */
+@Service
+public class ReactiveGameService {
+
+    private final GameService gameService;
+
+    @Autowired
+    public ReactiveGameService(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    public Mono<GameDto> createGame() {
+        return Mono.fromSupplier(gameService::createGame).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<GameDto> getGame(String gameId) {
+        return Mono.fromFuture(() -> gameService.getGameAsync(gameId));
+    }
+
+    public Mono<byte[]> getGameJson(String gameId) {
+        return Mono.fromFuture(() -> gameService.getGameJsonAsync(gameId));
+    }
+
+    public boolean isDeckViewEnabled() {
+        return gameService.isDeckViewEnabled();
+    }
+
+    public Mono<GameDto> getGameWithDecks(String gameId) {
+        return Mono.fromFuture(() -> gameService.getGameWithDecksAsync(gameId));
+    }
+
+    public Mono<GameDeltaDto> getDelta(String gameId, long sinceVersion) {
+        return Mono.fromFuture(() -> gameService.getDeltaAsync(gameId, sinceVersion));
+    }
+
+    public Mono<GameReplayDto> getReplay(String gameId) {
+        return Mono.fromFuture(() -> gameService.getReplayAsync(gameId));
+    }
+
+    public Mono<GamePageDto> listGames(GameFilter filter, String cursor, int limit) {
+        return Mono.fromSupplier(() -> gameService.listGames(filter, cursor, limit));
+    }
+
+    public Mono<GamePageDto> listOpenGames(String cursor, int limit) {
+        return Mono.fromSupplier(() -> gameService.listOpenGames(cursor, limit));
+    }
+
+    // The cursor is checked here, before the response starts; summaries are read on demand
+    public Flux<GameSummaryDto> streamGames(GameFilter filter, String cursor) {
+        return Flux.fromStream(gameService.streamGames(filter, cursor));
+    }
+
+    public Mono<Void> deleteGame(String gameId) {
+        return Mono.<Void>fromRunnable(() -> gameService.deleteGame(gameId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<PlayerDto> createPlayer(CreatePlayerRequest request) {
+        return Mono.fromSupplier(() -> gameService.createPlayer(request)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<PlayerDto> getPlayer(String playerId) {
+        return Mono.fromSupplier(() -> gameService.getPlayer(playerId));
+    }
+
+    public Mono<Void> deletePlayer(String playerId) {
+        return Mono.<Void>fromRunnable(() -> gameService.deletePlayer(playerId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<GameDto> joinGame(String gameId, String playerId) {
+        return Mono.fromFuture(() -> gameService.joinGameAsync(gameId, playerId));
+    }
+
+    public Mono<GameDto> enqueueForMatch(String playerId) {
+        return Mono.fromFuture(() -> gameService.enqueueForMatchAsync(playerId));
+    }
+
+    public Mono<GameDto> getMatch(String playerId) {
+        return Mono.fromFuture(() -> gameService.getMatchAsync(playerId));
+    }
+
+    public Mono<Void> cancelMatch(String playerId) {
+        return Mono.fromRunnable(() -> gameService.cancelMatch(playerId));
+    }
+
+    public Mono<GameDto> playCard(String gameId, PlayCardRequest request) {
+        return Mono.fromFuture(() -> gameService.playCardAsync(gameId, request));
+    }
+
+    public Mono<MoveBatchDto> playBatch(String gameId, PlayBatchRequest request) {
+        return Mono.fromFuture(() -> gameService.playBatchAsync(gameId, request));
+    }
+
+    public boolean isFastForwardEnabled() {
+        return gameService.isFastForwardEnabled();
+    }
+
+    public Mono<MoveBatchDto> fastForward(String gameId) {
+        return Mono.fromFuture(() -> gameService.fastForwardAsync(gameId));
+    }
+
+    public boolean gameExists(String gameId) {
+        return gameService.gameExists(gameId);
+    }
+
+    public boolean playerExists(String playerId) {
+        return gameService.playerExists(playerId);
+    }
+
+    /**
+     * Game snapshots as server-sent events, the event id being the game version. Like the servlet
+     * stream, a subscriber that falls behind only gets the latest snapshot.
+     */
+    public Flux<ServerSentEvent<GameDto>> updates(String gameId, long lastSeenVersion) {
+        return Flux.<ServerSentEvent<GameDto>>create(sink -> gameService
+                .subscribeAsync(gameId, lastSeenVersion, new FluxUpdateSink(sink))
+                .whenComplete((unsubscribe, failure) -> {
+                    if (failure != null) {
+                        sink.error(failure instanceof CompletionException ? failure.getCause() : failure);
+                    } else {
+                        sink.onDispose(unsubscribe::run); // Runs at once if the client is already gone
+                    }
+                }), FluxSink.OverflowStrategy.LATEST);
+    }
+
+    private record FluxUpdateSink(FluxSink<ServerSentEvent<GameDto>> sink) implements GameUpdateBroadcaster.UpdateSink {
+        @Override
+        public void send(long sequence, GameDto snapshot) {
+            sink.next(ServerSentEvent.builder(snapshot)
+                    .id(Long.toString(sequence))
+                    .event(GameUpdateBroadcaster.EVENT_NAME)
+                    .build());
+        }
+
+        @Override
+        public void complete() {
+            sink.complete();
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            sink.error(error);
+        }
+    }
+}
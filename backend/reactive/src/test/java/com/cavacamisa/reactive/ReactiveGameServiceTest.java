@@ -0,0 +1,106 @@
+package com.cavacamisa.reactive;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.dto.*;
+import com.cavacamisa.service.GameService;
+import com.cavacamisa.service.GameUpdateBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveGameServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private GameUpdateBroadcaster broadcaster;
+    private GameService service;
+    private ReactiveGameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new GameUpdateBroadcaster();
+        service = new GameService(new CavacamisaProperties(), broadcaster, new SimpleMeterRegistry());
+        gameService = new ReactiveGameService(service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should join and play through the reactive facade")
+    void shouldJoinAndPlayThroughReactiveFacade() {
+        GameDto game = gameService.createGame().block(TIMEOUT);
+        PlayerDto player1 = gameService.createPlayer(new CreatePlayerRequest("Player 1")).block(TIMEOUT);
+        PlayerDto player2 = gameService.createPlayer(new CreatePlayerRequest("Player 2")).block(TIMEOUT);
+        gameService.joinGame(game.getId(), player1.getId()).block(TIMEOUT);
+        GameDto started = gameService.joinGame(game.getId(), player2.getId()).block(TIMEOUT);
+        assertEquals(2, started.getPlayers().size());
+
+        String current = started.getPlayers().get(started.getCurrentPlayerIndex()).getId();
+        GameDto played = gameService.playCard(game.getId(), new PlayCardRequest(current)).block(TIMEOUT);
+        assertEquals(1, played.getTableCards().size());
+        assertEquals(started.getVersion() + 1, played.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should create and delete games and players off the subscriber's thread")
+    void shouldCreateAndDeleteOffSubscriberThread() {
+        String caller = Thread.currentThread().getName();
+        GameDto game = gameService.createGame().block(TIMEOUT);
+        PlayerDto player = gameService.createPlayer(new CreatePlayerRequest("Player 1")).block(TIMEOUT);
+
+        String creator = gameService.createGame().map(created -> Thread.currentThread().getName()).block(TIMEOUT);
+        assertNotEquals(caller, creator);
+        assertTrue(creator.startsWith("boundedElastic"), creator);
+
+        gameService.deleteGame(game.getId()).block(TIMEOUT);
+        gameService.deletePlayer(player.getId()).block(TIMEOUT);
+        assertFalse(gameService.gameExists(game.getId()));
+        assertFalse(gameService.playerExists(player.getId()));
+    }
+
+    @Test
+    @DisplayName("Should signal not found and invalid moves as errors")
+    void shouldSignalNotFoundAndInvalidMovesAsErrors() {
+        StepVerifier.create(gameService.getGame("missing"))
+                .expectError(IllegalArgumentException.class)
+                .verify(TIMEOUT);
+
+        GameDto game = gameService.createGame().block(TIMEOUT);
+        StepVerifier.create(gameService.playCard(game.getId(), new PlayCardRequest("nobody")))
+                .expectError(IllegalStateException.class)
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("Should stream the current snapshot and then every change")
+    void shouldStreamCurrentSnapshotAndThenEveryChange() {
+        GameDto game = gameService.createGame().block(TIMEOUT);
+        PlayerDto player1 = gameService.createPlayer(new CreatePlayerRequest("Player 1")).block(TIMEOUT);
+        PlayerDto player2 = gameService.createPlayer(new CreatePlayerRequest("Player 2")).block(TIMEOUT);
+        gameService.joinGame(game.getId(), player1.getId()).block(TIMEOUT);
+        GameDto started = gameService.joinGame(game.getId(), player2.getId()).block(TIMEOUT);
+        String current = started.getPlayers().get(started.getCurrentPlayerIndex()).getId();
+
+        StepVerifier.create(gameService.updates(game.getId(), -1))
+                .assertNext(event -> assertEquals(Long.toString(started.getVersion()), event.id()))
+                .then(() -> gameService.playCard(game.getId(), new PlayCardRequest(current)).block(TIMEOUT))
+                .assertNext(event -> {
+                    assertEquals(Long.toString(started.getVersion() + 1), event.id());
+                    assertEquals("game", event.event());
+                    assertEquals(1, event.data().getTableCards().size());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+        assertFalse(broadcaster.hasSubscribers(game.getId()));
+    }
+}
@@ -2,8 +2,11 @@ package com.cavacamisa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import com.cavacamisa.config.CavacamisaProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(CavacamisaProperties.class)
 public class CavacamisaApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,115 @@
+package com.cavacamisa.cluster;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.dto.PlayerDto;
+import com.cavacamisa.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Node-to-node calls: forwarded requests, and borrowing a player from its home node when it joins
+ * a game or the matchmaking queue on another node. The home node counts the loan as a seat, so it
+ * keeps the player while the borrower holds a copy; the borrower returns the loan once it drops
+ * its copy (player evicted or deleted there).
+ */
+@Component
+public class ClusterClient {
+    // Marks a request already routed by a node; the receiving node serves it whatever the id says
+    public static final String FORWARDED_HEADER = "X-Cavacamisa-Forwarded-By";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterClient.class);
+
+    private final GameService gameService;
+    private final ClusterRouter router;
+    private final ObjectMapper objectMapper;
+    private final HttpClient http;
+    private final Duration responseTimeout;
+
+    @Autowired
+    public ClusterClient(GameService gameService, ObjectMapper objectMapper, CavacamisaProperties properties) {
+        this.gameService = gameService;
+        this.router = gameService.getCluster();
+        this.objectMapper = objectMapper;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(properties.getCluster().getConnectTimeout())
+                .build();
+        this.responseTimeout = properties.getCluster().getResponseTimeout();
+        gameService.onAdoptedPlayerDropped(this::returnPlayer);
+    }
+
+    public ClusterRouter getRouter() {
+        return router;
+    }
+
+    // Blocks until the response headers arrive, at most the response timeout (HttpTimeoutException);
+    // the body is left to the caller to stream
+    public HttpResponse<InputStream> send(String node, HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.header(FORWARDED_HEADER, router.getSelfId()).timeout(responseTimeout).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Makes sure a player of another node is known here. Completes once the player has been
+     * adopted, or right away if it is local or unknown everywhere: the caller's own lookup then
+     * reports it missing as usual.
+     */
+    public CompletableFuture<Void> ensurePlayer(String playerId) {
+        String home = router.ownerOf(playerId);
+        if (router.isSelf(home) || gameService.playerExists(playerId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(router.urlOf(home).resolve("/api/game/player/" + playerId + "/lend"))
+                .header("Accept", "application/json")
+                .header(FORWARDED_HEADER, router.getSelfId())
+                .timeout(responseTimeout)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenAccept(response -> {
+            if (response.statusCode() != 200) {
+                log.debug("Player {} not found on its home node {}: {}", playerId, home, response.statusCode());
+                return;
+            }
+            PlayerDto player;
+            try {
+                player = objectMapper.readValue(response.body(), PlayerDto.class);
+            } catch (IOException e) {
+                returnPlayer(playerId);
+                throw new UncheckedIOException(e);
+            }
+            if (!gameService.adoptPlayer(playerId, player.getName())) {
+                returnPlayer(playerId); // A concurrent call adopted it first, with a loan of its own
+            }
+        });
+    }
+
+    // Ends one loan on the player's home node; if that fails the home node keeps the player until deleted
+    private void returnPlayer(String playerId) {
+        String home = router.ownerOf(playerId);
+        HttpRequest request = HttpRequest.newBuilder(router.urlOf(home).resolve("/api/game/player/" + playerId + "/return"))
+                .header(FORWARDED_HEADER, router.getSelfId())
+                .timeout(responseTimeout)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() != 200) {
+                log.warn("Could not return player {} to its home node {}: {}", playerId, home,
+                        error != null ? error.toString() : response.statusCode());
+            }
+        });
+    }
+}
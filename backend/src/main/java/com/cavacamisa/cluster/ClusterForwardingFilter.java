@@ -0,0 +1,163 @@
+package com.cavacamisa.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests for another node's games and players to that node and relays the response.
+ *
+ * Behind nginx, which routes on the id prefix, this only catches what reaches the wrong node:
+ * clients talking to a node directly, or game creation, which goes to the node the hash ring
+ * picks. The relay is a blocking copy, streamed as it arrives so event streams and long polls pass
+ * through, but it holds a request thread for as long as the response lasts. The wait for the
+ * owner's response headers is bounded by {@code cavacamisa.cluster.response-timeout}, after which
+ * the client gets 504; a stream, once started, holds its thread until either side closes it. On
+ * virtual threads (the virtual-threads profile) a held request costs no platform thread.
+ *
+ * Game listings ({@code GET /api/game}, {@code /open}, {@code /stream}) are not forwarded nor
+ * gathered: each node lists only the games it owns, and their cursors are only valid on it.
+ */
+@Component
+public class ClusterForwardingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ClusterForwardingFilter.class);
+    private static final String GAME_API = "/api/game";
+    // Per connection, or set by the HTTP client itself
+    private static final Set<String> NOT_FORWARDED = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect");
+    private static final long WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final ClusterClient client;
+    private final ClusterRouter router;
+    // When each node's failures were last logged at WARN; the rest go to DEBUG
+    private final Map<String, Long> lastWarnings = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterForwardingFilter(ClusterClient client) {
+        this.client = client;
+        this.router = client.getRouter();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !router.isEnabled() || request.getHeader(ClusterClient.FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String node = targetOf(request.getMethod(), request.getRequestURI());
+        if (node == null || router.isSelf(node)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        forward(node, request, response);
+    }
+
+    // The node that serves the request, or null for any node
+    String targetOf(String method, String path) {
+        if (!path.startsWith(GAME_API)) {
+            return null;
+        }
+        String rest = path.substring(GAME_API.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return "POST".equals(method) ? router.placeNewGame() : null; // Listings are per node
+        }
+        if (rest.charAt(0) != '/') {
+            return null;
+        }
+        String[] segments = rest.substring(1).split("/", 3);
+        return switch (segments[0]) {
+            case "matchmaking" -> router.matchmakingNode();
+            case "player" -> segments.length > 1 ? router.ownerOf(segments[1]) : null; // Players are created anywhere
+            case "open", "stream" -> null;
+            default -> router.ownerOf(segments[0]);
+        };
+    }
+
+    private void forward(String node, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(
+                router.urlOf(node).resolve(request.getRequestURI() + (query != null ? "?" + query : "")));
+        byte[] body = request.getInputStream().readAllBytes();
+        forwarded.method(request.getMethod(), body.length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody());
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!NOT_FORWARDED.contains(name.toLowerCase(Locale.ROOT))) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwarded.header(name, value);
+                }
+            }
+        }
+
+        HttpResponse<InputStream> relayed;
+        try {
+            relayed = client.send(node, forwarded);
+        } catch (HttpTimeoutException e) {
+            logFailure(node, "Node {} did not answer {} {} in time", node, request.getMethod(), request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+            return;
+        } catch (IOException e) {
+            logFailure(node, "Node {} unreachable for {} {}: {}", node, request.getMethod(), request.getRequestURI(), e.toString());
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(relayed.statusCode());
+        relayed.headers().map().forEach((name, values) -> {
+            if (!NOT_FORWARDED.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        lastWarnings.remove(node); // Back up: the next failure is news again
+        try (InputStream in = relayed.body()) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                if (in.available() == 0) {
+                    out.flush(); // Nothing more buffered: pass events on now
+                }
+            }
+            out.flush();
+        }
+    }
+
+    // A node that is down fails every request routed to it: one warning per node every 30 s is enough
+    private void logFailure(String node, String message, Object... arguments) {
+        long now = System.nanoTime();
+        Long last = lastWarnings.get(node);
+        boolean warn = (last == null || now - last >= WARNING_INTERVAL_NANOS)
+                && (last == null ? lastWarnings.putIfAbsent(node, now) == null : lastWarnings.replace(node, last, now));
+        if (warn) {
+            log.warn(message, arguments);
+        } else {
+            log.debug(message, arguments);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.cavacamisa.cluster;
+
+import com.cavacamisa.config.CavacamisaProperties;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Which node owns a game or a player, from the static list of nodes in the configuration.
+ *
+ * New games are placed on the hash ring by their id, and the owner is also written in front of
+ * the id ({@code node1.3f2c...}): requests then route with a string split, in the nodes and in
+ * nginx alike, and a game stays where it is when nodes are added later. Players live on the node
+ * that created them and carry its id the same way. Ids without a known prefix, from a standalone
+ * node, are served locally. Matchmaking needs everyone in one queue, so it runs on the node the
+ * ring assigns to {@value #MATCHMAKING_KEY}.
+ *
+ * With clustering disabled every id is a plain UUID and everything is local.
+ */
+public class ClusterRouter {
+    public static final char SEPARATOR = '.';
+    private static final String MATCHMAKING_KEY = "matchmaking";
+
+    private final boolean enabled;
+    private final String selfId;
+    private final Map<String, URI> nodes;
+    private final HashRing ring;
+
+    public ClusterRouter(CavacamisaProperties.Cluster properties) {
+        this.enabled = properties.isEnabled();
+        this.selfId = properties.getNodeId();
+        if (!enabled) {
+            this.nodes = Map.of();
+            this.ring = null;
+            return;
+        }
+        if (selfId == null || selfId.isEmpty() || selfId.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalStateException("Invalid cluster node id: " + selfId);
+        }
+        if (!properties.getNodes().containsKey(selfId)) {
+            throw new IllegalStateException("Cluster node " + selfId + " is not in cavacamisa.cluster.nodes");
+        }
+        this.nodes = properties.getNodes().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, node -> URI.create(node.getValue())));
+        this.ring = new HashRing(nodes.keySet(), properties.getVirtualNodes());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelfId() {
+        return selfId;
+    }
+
+    public boolean isSelf(String node) {
+        return selfId.equals(node);
+    }
+
+    public URI urlOf(String node) {
+        URI url = nodes.get(node);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown cluster node: " + node);
+        }
+        return url;
+    }
+
+    // An id for a game created here: a key the ring assigns to this node, about n draws
+    public String newGameId() {
+        if (!enabled) {
+            return UUID.randomUUID().toString();
+        }
+        while (true) {
+            String key = UUID.randomUUID().toString();
+            if (isSelf(ring.nodeFor(key))) {
+                return selfId + SEPARATOR + key;
+            }
+        }
+    }
+
+    public String newPlayerId() {
+        return enabled ? selfId + SEPARATOR + UUID.randomUUID() : UUID.randomUUID().toString();
+    }
+
+    // The node a create request should go to, by the ring position of a fresh key
+    public String placeNewGame() {
+        return enabled ? ring.nodeFor(UUID.randomUUID().toString()) : selfId;
+    }
+
+    public String ownerOf(String id) {
+        if (!enabled) {
+            return selfId;
+        }
+        int separator = id.indexOf(SEPARATOR);
+        String node = separator > 0 ? id.substring(0, separator) : null;
+        return node != null && nodes.containsKey(node) ? node : selfId;
+    }
+
+    public String matchmakingNode() {
+        return enabled ? ring.nodeFor(MATCHMAKING_KEY) : selfId;
+    }
+}
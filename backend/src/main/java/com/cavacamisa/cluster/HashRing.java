@@ -0,0 +1,53 @@
+package com.cavacamisa.cluster;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of node ids.
+ *
+ * Each node is placed at {@code virtualNodes} points of a 64-bit ring and a key belongs to the
+ * first point at or after its hash, wrapping around. Adding a node only takes over the keys that
+ * now fall on its points, about 1/n of them, and every node that reads the same configuration
+ * builds the same ring. Immutable once built.
+ */
+public class HashRing {
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1");
+        }
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On a collision the smaller id wins, whatever order the nodes are listed in
+                points.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    // FNV-1a over the chars, then the murmur3 finalizer to spread the bits over the whole ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,312 @@
+package com.cavacamisa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "cavacamisa")
+public class CavacamisaProperties {
+    private final Shards shards = new Shards();
+    private final Debug debug = new Debug();
+    private final Eviction eviction = new Eviction();
+    private final Journal journal = new Journal();
+    private final FlightRecorder flightRecorder = new FlightRecorder();
+    private final Cluster cluster = new Cluster();
+
+    public Shards getShards() {
+        return shards;
+    }
+
+    public Debug getDebug() {
+        return debug;
+    }
+
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public static class Shards {
+        // Single-threaded game executors; each game is owned by one of them
+        private int count = Runtime.getRuntime().availableProcessors();
+        // Run the shards on virtual threads; set by the virtual-threads profile
+        private boolean virtualThreads = false;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
+    public static class Debug {
+        // Allows ?includeDecks=true on game reads; decks are hidden information, keep off in production
+        private boolean exposeDecks = false;
+        // Allows POST /api/game/{id}/fast-forward, which plays both sides to the end of the game
+        private boolean fastForward = false;
+
+        public boolean isExposeDecks() {
+            return exposeDecks;
+        }
+
+        public void setExposeDecks(boolean exposeDecks) {
+            this.exposeDecks = exposeDecks;
+        }
+
+        public boolean isFastForward() {
+            return fastForward;
+        }
+
+        public void setFastForward(boolean fastForward) {
+            this.fastForward = fastForward;
+        }
+    }
+
+    public static class Eviction {
+        private boolean enabled = true;
+        // Timing wheel resolution; deadlines are rounded up to a whole tick
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSize = 512;
+        // Time without a join or move before a game is removed, by lifecycle state
+        private Duration waitingTtl = Duration.ofMinutes(10);
+        private Duration playingIdleTtl = Duration.ofMinutes(30);
+        private Duration finishedTtl = Duration.ofMinutes(5);
+        // Time a player may stay registered without being seated in any game
+        private Duration orphanedPlayerTtl = Duration.ofMinutes(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public Duration getWaitingTtl() {
+            return waitingTtl;
+        }
+
+        public void setWaitingTtl(Duration waitingTtl) {
+            this.waitingTtl = waitingTtl;
+        }
+
+        public Duration getPlayingIdleTtl() {
+            return playingIdleTtl;
+        }
+
+        public void setPlayingIdleTtl(Duration playingIdleTtl) {
+            this.playingIdleTtl = playingIdleTtl;
+        }
+
+        public Duration getFinishedTtl() {
+            return finishedTtl;
+        }
+
+        public void setFinishedTtl(Duration finishedTtl) {
+            this.finishedTtl = finishedTtl;
+        }
+
+        public Duration getOrphanedPlayerTtl() {
+            return orphanedPlayerTtl;
+        }
+
+        public void setOrphanedPlayerTtl(Duration orphanedPlayerTtl) {
+            this.orphanedPlayerTtl = orphanedPlayerTtl;
+        }
+    }
+
+    public static class Journal {
+        // When enabled, every mutation is journaled and the journal is replayed on startup
+        private boolean enabled = false;
+        private String directory = "data/journal";
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        // How often appended records are forced to disk
+        private Duration groupCommitInterval = Duration.ofMillis(10);
+        // Sealed segments that trigger a compaction dropping deleted games and players; 0 keeps every segment
+        private int compactAfterSegments = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public Duration getGroupCommitInterval() {
+            return groupCommitInterval;
+        }
+
+        public void setGroupCommitInterval(Duration groupCommitInterval) {
+            this.groupCommitInterval = groupCommitInterval;
+        }
+
+        public int getCompactAfterSegments() {
+            return compactAfterSegments;
+        }
+
+        public void setCompactAfterSegments(int compactAfterSegments) {
+            this.compactAfterSegments = compactAfterSegments;
+        }
+    }
+
+    public static class FlightRecorder {
+        // Continuous JFR recording of the game events, kept on disk in rotating chunks
+        private boolean enabled = false;
+        private Duration maxAge = Duration.ofMinutes(30);
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+        // Default window of the flightrecording actuator endpoint
+        private Duration dumpWindow = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getDumpWindow() {
+            return dumpWindow;
+        }
+
+        public void setDumpWindow(Duration dumpWindow) {
+            this.dumpWindow = dumpWindow;
+        }
+    }
+
+    public static class Cluster {
+        // Spreads games over the nodes below; off runs a single standalone node
+        private boolean enabled = false;
+        // This node, one of the keys of nodes; it prefixes the ids the node hands out, so no dots
+        private String nodeId = "node1";
+        // Every node of the cluster, this one included: id -> base URL
+        private Map<String, String> nodes = new LinkedHashMap<>();
+        // Points per node on the hash ring; more points spread the games more evenly
+        private int virtualNodes = 160;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        // Longest wait for another node's response headers, above the 25 s matchmaking long poll;
+        // event streams answer at once and then stream without limit
+        private Duration responseTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public Map<String, String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(Map<String, String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cavacamisa.config;
+
+import com.cavacamisa.dto.PackedDtoCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes game, player and delta responses in the packed binary form when the client asks for it
+ * with {@code Accept: application/vnd.cavacamisa.packed}; JSON stays the default. Response only.
+ * Registered last by {@link WebConfig}, not as a bean, which Spring Boot would put ahead of Jackson.
+ */
+public class PackedMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public PackedMessageConverter() {
+        super(MediaType.parseMediaType(PackedDtoCodec.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PackedDtoCodec.supports(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        throw new HttpMessageNotReadableException("Packed request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object dto, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(PackedDtoCodec.encode(dto));
+    }
+}
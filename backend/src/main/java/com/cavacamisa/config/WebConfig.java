@@ -0,0 +1,18 @@
+package com.cavacamisa.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // After Jackson's JSON and CBOR converters: Accept: */* keeps getting JSON, and only clients that
+    // name the packed media type get it
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PackedMessageConverter());
+    }
+}
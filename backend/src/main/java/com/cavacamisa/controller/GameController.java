@@ -1,27 +1,52 @@
 package com.cavacamisa.controller;
 
+import com.cavacamisa.cluster.ClusterClient;
+import com.cavacamisa.model.GameState;
+import com.cavacamisa.service.GameFilter;
 import com.cavacamisa.service.GameService;
 import com.cavacamisa.dto.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/game")
 @CrossOrigin(origins = "*")
 @Tag(name = "Game", description = "Game management API")
 public class GameController {
+    // Below the servlet container's default 30 s async timeout
+    private static final int MAX_MATCH_WAIT_SECONDS = 25;
 
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClusterClient cluster;
+
     // Game management endpoints
     @Operation(summary = "Create a new game")
     @ApiResponses(value = {
@@ -37,25 +62,129 @@ public class GameController {
     @Operation(summary = "Get game by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Game found"),
+        @ApiResponse(responseCode = "403", description = "Deck contents requested but the debug deck view is disabled"),
         @ApiResponse(responseCode = "404", description = "Game not found")
     })
     @GetMapping("/{gameId}")
-    public ResponseEntity<GameDto> getGame(@PathVariable String gameId) {
-        try {
-            GameDto game = gameService.getGame(gameId);
-            return ResponseEntity.ok(game);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<GameDto>> getGame(@PathVariable String gameId,
+            @RequestParam(name = "includeDecks", defaultValue = "false") boolean includeDecks) {
+        if (!includeDecks) {
+            return gameService.getGameAsync(gameId).handle(GameController::toResponse);
         }
+        if (!gameService.isDeckViewEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return gameService.getGameWithDecksAsync(gameId).handle(GameController::toResponse);
     }
 
-    @Operation(summary = "Get all games")
-    @GetMapping
+    // Plain JSON reads of the public view, the polling hot path: served from the per-version cache.
+    // Other formats and deck views fall through to getGame.
+    @GetMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE, params = "!includeDecks")
+    public CompletableFuture<ResponseEntity<byte[]>> getGameJson(@PathVariable String gameId) {
+        return gameService.getGameJsonAsync(gameId).handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Get changes since a game version")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Events after the given version, or a full snapshot if that version is too old"),
+        @ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @GetMapping("/{gameId}/delta")
+    public CompletableFuture<ResponseEntity<GameDeltaDto>> getDelta(@PathVariable String gameId, @RequestParam("since") long since) {
+        return gameService.getDeltaAsync(gameId, since).handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Get the replay record of a game")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Seed, version and move count that reproduce the game"),
+        @ApiResponse(responseCode = "400", description = "Game not finished yet"),
+        @ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @GetMapping("/{gameId}/replay")
+    public CompletableFuture<ResponseEntity<GameReplayDto>> getReplay(@PathVariable String gameId) {
+        return gameService.getReplayAsync(gameId).handle(GameController::toResponse);
+    }
+
+    // The original unpaged list, kept for existing clients; any paging or filter parameter selects listGames
+    @Operation(summary = "Get all games", deprecated = true,
+            description = "Every game as a full GameDto array, built in memory; use the paged form (limit, cursor or any filter) or /stream instead")
+    @GetMapping(params = {"!state", "!playerId", "!createdAfter", "!createdBefore", "!cursor", "!limit"})
     public ResponseEntity<List<GameDto>> getAllGames() {
         List<GameDto> games = gameService.getAllGames();
         return ResponseEntity.ok(games);
     }
 
+    @Operation(summary = "List games", description = "One page of game summaries in creation order; pass nextCursor back to get the following page. "
+            + "Selected by any of the parameters; without them the endpoint answers the unpaged array")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Games matching the filters"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    @GetMapping
+    public ResponseEntity<GamePageDto> listGames(
+            @RequestParam(name = "state", required = false) GameState state,
+            @RequestParam(name = "playerId", required = false) String playerId,
+            @RequestParam(name = "createdAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @RequestParam(name = "createdBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        try {
+            GameFilter filter = new GameFilter(state, playerId, createdAfter, createdBefore);
+            return ResponseEntity.ok(gameService.listGames(filter, cursor, limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "List open games", description = "Games waiting for players with a seat still free, oldest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One page of joinable games"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    @GetMapping("/open")
+    public ResponseEntity<GamePageDto> listOpenGames(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(gameService.listOpenGames(cursor, limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Stream games", description = "Every matching game summary as newline-delimited JSON, written as the list is walked")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One game summary per line"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGames(
+            @RequestParam(name = "state", required = false) GameState state,
+            @RequestParam(name = "playerId", required = false) String playerId,
+            @RequestParam(name = "createdAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdAfter,
+            @RequestParam(name = "createdBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdBefore,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        Stream<GameSummaryDto> games;
+        try {
+            games = gameService.streamGames(new GameFilter(state, playerId, createdAfter, createdBefore), cursor);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // The writer must not close the response after the first line
+        ObjectWriter writer = objectMapper.writerFor(GameSummaryDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> {
+            try (games) {
+                Iterator<GameSummaryDto> summaries = games.iterator();
+                while (summaries.hasNext()) {
+                    writer.writeValue(out, summaries.next());
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Delete game by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Game deleted successfully"),
@@ -113,6 +242,28 @@ public class GameController {
         }
     }
 
+    // Cluster endpoints: another node borrows this node's player to seat it there, and returns it
+    @Operation(summary = "Lend a player to another node", description = "Node-to-node: keeps the player here until the borrower returns it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Player lent"),
+        @ApiResponse(responseCode = "404", description = "Player not found")
+    })
+    @PostMapping("/player/{playerId}/lend")
+    public ResponseEntity<PlayerDto> lendPlayer(@PathVariable String playerId) {
+        try {
+            return ResponseEntity.ok(gameService.lendPlayer(playerId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "Return a lent player", description = "Node-to-node: the borrower dropped its copy of the player")
+    @PostMapping("/player/{playerId}/return")
+    public ResponseEntity<Void> returnPlayer(@PathVariable String playerId) {
+        gameService.returnPlayer(playerId);
+        return ResponseEntity.ok().build();
+    }
+
     // Game action endpoints
     @Operation(summary = "Join a game")
     @ApiResponses(value = {
@@ -121,18 +272,62 @@ public class GameController {
         @ApiResponse(responseCode = "404", description = "Game not found")
     })
     @PostMapping("/{gameId}/join")
-    public ResponseEntity<GameDto> joinGame(@PathVariable String gameId, @RequestBody Map<String, String> request) {
+    public CompletableFuture<ResponseEntity<GameDto>> joinGame(@PathVariable String gameId, @RequestBody Map<String, String> request) {
+        String playerId = request.get("playerId");
+        if (playerId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        // The request is on the game's node already; a player from another node is fetched first
+        return cluster.ensurePlayer(playerId)
+                .thenCompose(ignored -> gameService.joinGameAsync(gameId, playerId))
+                .handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Enter matchmaking", description = "Queues the player and waits up to `wait` seconds for an opponent")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matched: the game dealt to both players"),
+        @ApiResponse(responseCode = "202", description = "Still waiting; poll GET /matchmaking/{playerId}"),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "404", description = "Player not found")
+    })
+    @PostMapping("/matchmaking")
+    public CompletableFuture<ResponseEntity<GameDto>> enqueueForMatch(@RequestBody Map<String, String> request,
+            @RequestParam(name = "wait", defaultValue = "" + MAX_MATCH_WAIT_SECONDS) int wait) {
+        String playerId = request.get("playerId");
+        if (playerId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return awaitMatch(cluster.ensurePlayer(playerId).thenCompose(ignored -> gameService.enqueueForMatchAsync(playerId)), wait);
+    }
+
+    @Operation(summary = "Wait for a match", description = "Long poll: returns as soon as the player is matched, or after `wait` seconds")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matched: the game dealt to both players"),
+        @ApiResponse(responseCode = "202", description = "Still waiting"),
+        @ApiResponse(responseCode = "400", description = "Matchmaking was cancelled"),
+        @ApiResponse(responseCode = "404", description = "Player not in matchmaking")
+    })
+    @GetMapping("/matchmaking/{playerId}")
+    public CompletableFuture<ResponseEntity<GameDto>> getMatch(@PathVariable String playerId,
+            @RequestParam(name = "wait", defaultValue = "" + MAX_MATCH_WAIT_SECONDS) int wait) {
+        return awaitMatch(gameService.getMatchAsync(playerId), wait);
+    }
+
+    @Operation(summary = "Leave matchmaking")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Player removed from the queue"),
+        @ApiResponse(responseCode = "400", description = "Player already matched"),
+        @ApiResponse(responseCode = "404", description = "Player not in matchmaking")
+    })
+    @DeleteMapping("/matchmaking/{playerId}")
+    public ResponseEntity<Void> cancelMatch(@PathVariable String playerId) {
         try {
-            String playerId = request.get("playerId");
-            if (playerId == null) {
-                return ResponseEntity.badRequest().build();
-            }
-            GameDto game = gameService.joinGame(gameId, playerId);
-            return ResponseEntity.ok(game);
+            gameService.cancelMatch(playerId);
+            return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest().body(null);
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -143,14 +338,61 @@ public class GameController {
         @ApiResponse(responseCode = "404", description = "Game not found")
     })
     @PostMapping("/{gameId}/play")
-    public ResponseEntity<GameDto> playCard(@PathVariable String gameId, @RequestBody PlayCardRequest request) {
+    public CompletableFuture<ResponseEntity<GameDto>> playCard(@PathVariable String gameId, @RequestBody PlayCardRequest request) {
+        return gameService.playCardAsync(gameId, request).handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Play several cards in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cards played until the turn passed, a pile was captured, the game ended or maxCards were played"),
+        @ApiResponse(responseCode = "400", description = "Invalid move, not player's turn or maxCards out of range"),
+        @ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @PostMapping("/{gameId}/play-batch")
+    public CompletableFuture<ResponseEntity<MoveBatchDto>> playBatch(@PathVariable String gameId, @RequestBody PlayBatchRequest request) {
+        if (request.getPlayerId() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return gameService.playBatchAsync(gameId, request).handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Play a game to the end (admin)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Game played to the end; events are included if the game's history still covers them"),
+        @ApiResponse(responseCode = "400", description = "Game not in progress"),
+        @ApiResponse(responseCode = "403", description = "Fast-forward is disabled"),
+        @ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @PostMapping("/{gameId}/fast-forward")
+    public CompletableFuture<ResponseEntity<MoveBatchDto>> fastForward(@PathVariable String gameId) {
+        if (!gameService.isFastForwardEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        return gameService.fastForwardAsync(gameId).handle(GameController::toResponse);
+    }
+
+    @Operation(summary = "Subscribe to game updates (Server-Sent Events)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream of game snapshots, event id is the game version"),
+        @ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable String gameId,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                @RequestParam(value = "since", required = false) Long since) {
+        // EventSource resends the last event id on reconnect; "since" lets other clients resume explicitly
+        long lastSeenVersion = since != null ? since : -1L;
+        if (lastEventId != null) {
+            try {
+                lastSeenVersion = Long.parseLong(lastEventId);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         try {
-            GameDto game = gameService.playCard(gameId, request);
-            return ResponseEntity.ok(game);
+            return ResponseEntity.ok(gameService.subscribe(gameId, lastSeenVersion));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest().body(null);
         }
     }
 
@@ -168,4 +410,26 @@ public class GameController {
         boolean exists = gameService.playerExists(playerId);
         return ResponseEntity.ok(Map.of("exists", exists));
     }
+
+    // The match once made, or 202 Accepted after the wait so the client polls again
+    private static CompletableFuture<ResponseEntity<GameDto>> awaitMatch(CompletableFuture<GameDto> match, int wait) {
+        int seconds = Math.max(0, Math.min(wait, MAX_MATCH_WAIT_SECONDS));
+        return match.handle(GameController::toResponse)
+                .completeOnTimeout(ResponseEntity.status(HttpStatus.ACCEPTED).build(), seconds, TimeUnit.SECONDS);
+    }
+
+    // Maps the outcome of a game shard task the same way the synchronous endpoints map exceptions
+    private static <T> ResponseEntity<T> toResponse(T body, Throwable failure) {
+        if (failure == null) {
+            return ResponseEntity.ok(body);
+        }
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (cause instanceof IllegalStateException) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        throw new CompletionException(cause);
+    }
 }
@@ -1,51 +1,111 @@
 package com.cavacamisa.dto;
 
 import com.cavacamisa.model.Card;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
-public class CardDto {
-    private int rank;
-    private String suit;
-    private String displayName;
-    private boolean winningCard;
+import java.io.IOException;
 
-    public CardDto() {}
+// Immutable, so one instance per card can be shared by every game DTO
+@JsonSerialize(using = CardDto.Serializer.class)
+public final class CardDto {
+    private static final CardDto[] SHARED = new CardDto[Card.DECK_SIZE];
+    private static final SerializableString[] SHARED_JSON = new SerializableString[Card.DECK_SIZE];
+
+    static {
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            CardDto dto = new CardDto(Card.fromOrdinal(ordinal), ordinal);
+            SHARED[ordinal] = dto;
+            SHARED_JSON[ordinal] = new SerializedString(dto.toJson());
+        }
+    }
+
+    private final int sharedOrdinal; // -1 unless this is a shared instance
+    private final int rank;
+    private final String suit;
+    private final String displayName;
+    private final boolean winningCard;
+
+    @JsonCreator
+    public CardDto(@JsonProperty("rank") int rank, @JsonProperty("suit") String suit,
+                   @JsonProperty("displayName") String displayName, @JsonProperty("winningCard") boolean winningCard) {
+        this.sharedOrdinal = -1;
+        this.rank = rank;
+        this.suit = suit;
+        this.displayName = displayName;
+        this.winningCard = winningCard;
+    }
 
     public CardDto(Card card) {
+        this(card, -1);
+    }
+
+    private CardDto(Card card, int sharedOrdinal) {
+        this.sharedOrdinal = sharedOrdinal;
         this.rank = card.getRank();
         this.suit = card.getSuit().getDisplayName();
         this.displayName = card.getDisplayName();
         this.winningCard = card.isWinningCard();
     }
 
-    public int getRank() {
-        return rank;
+    // The shared instance for the card: no allocation, and serialized by copying its JSON bytes
+    public static CardDto of(Card card) {
+        return SHARED[card.getOrdinal()];
     }
 
-    public void setRank(int rank) {
-        this.rank = rank;
+    public int getRank() {
+        return rank;
     }
 
     public String getSuit() {
         return suit;
     }
 
-    public void setSuit(String suit) {
-        this.suit = suit;
-    }
-
     public String getDisplayName() {
         return displayName;
     }
 
-    public void setDisplayName(String displayName) {
-        this.displayName = displayName;
-    }
-
     public boolean isWinningCard() {
         return winningCard;
     }
 
-    public void setWinningCard(boolean winningCard) {
-        this.winningCard = winningCard;
+    private String toJson() {
+        return "{\"rank\":" + rank
+                + ",\"suit\":" + quote(suit)
+                + ",\"displayName\":" + quote(displayName)
+                + ",\"winningCard\":" + winningCard + "}";
+    }
+
+    private static String quote(String value) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    // Same fields as the default bean serializer. Text generators get the shared cards as raw JSON;
+    // binary formats (CBOR) and token buffers, which can write binary natively, get structured writes.
+    public static class Serializer extends StdSerializer<CardDto> {
+        public Serializer() {
+            super(CardDto.class);
+        }
+
+        @Override
+        public void serialize(CardDto card, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (card.sharedOrdinal >= 0 && !gen.canWriteBinaryNatively()) {
+                gen.writeRawValue(SHARED_JSON[card.sharedOrdinal]);
+                return;
+            }
+            gen.writeStartObject(card);
+            gen.writeNumberField("rank", card.rank);
+            gen.writeStringField("suit", card.suit);
+            gen.writeStringField("displayName", card.displayName);
+            gen.writeBooleanField("winningCard", card.winningCard);
+            gen.writeEndObject();
+        }
     }
 }
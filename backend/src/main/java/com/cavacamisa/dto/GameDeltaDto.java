@@ -0,0 +1,75 @@
+package com.cavacamisa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Either the events after fromVersion, or a full snapshot when they are no longer available
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDeltaDto {
+    private String gameId;
+    private long fromVersion;
+    private long toVersion;
+    private List<GameEventDto> events;
+    private GameDto snapshot;
+
+    public GameDeltaDto() {}
+
+    public static GameDeltaDto ofEvents(String gameId, long fromVersion, long toVersion, List<GameEventDto> events) {
+        GameDeltaDto delta = new GameDeltaDto();
+        delta.gameId = gameId;
+        delta.fromVersion = fromVersion;
+        delta.toVersion = toVersion;
+        delta.events = events;
+        return delta;
+    }
+
+    public static GameDeltaDto ofSnapshot(long fromVersion, GameDto snapshot) {
+        GameDeltaDto delta = new GameDeltaDto();
+        delta.gameId = snapshot.getId();
+        delta.fromVersion = fromVersion;
+        delta.toVersion = snapshot.getVersion();
+        delta.snapshot = snapshot;
+        return delta;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    public List<GameEventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<GameEventDto> events) {
+        this.events = events;
+    }
+
+    public GameDto getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(GameDto snapshot) {
+        this.snapshot = snapshot;
+    }
+}
@@ -15,27 +15,36 @@ public class GameDto {
     private PlayerDto winner;
     private PlayerDto loser;
     private boolean gameFinished;
+    private int cycleLength;
+    private long version;
 
     public GameDto() {}
 
     public GameDto(Game game) {
+        this(game, true);
+    }
+
+    // Without decks the projection only carries deck sizes, the table pile and turn info
+    public GameDto(Game game, boolean includeDecks) {
         this.id = game.getId();
         this.state = game.getState().getDisplayName();
         this.players = game.getPlayers().stream()
-                .map(PlayerDto::new)
+                .map(player -> new PlayerDto(player, includeDecks))
                 .collect(Collectors.toList());
         this.tableCards = game.getTableCards().stream()
-                .map(CardDto::new)
+                .map(CardDto::of)
                 .collect(Collectors.toList());
         this.currentPlayerIndex = game.getCurrentPlayerIndex();
         this.cardsToPlay = game.getCardsToPlay();
         this.lastWinningPlayer = game.getLastWinningPlayer() != null ? 
-                new PlayerDto(game.getLastWinningPlayer()) : null;
+                new PlayerDto(game.getLastWinningPlayer(), includeDecks) : null;
         this.winner = game.getWinner() != null ? 
-                new PlayerDto(game.getWinner()) : null;
+                new PlayerDto(game.getWinner(), includeDecks) : null;
         this.loser = game.getLoser() != null ? 
-                new PlayerDto(game.getLoser()) : null;
+                new PlayerDto(game.getLoser(), includeDecks) : null;
         this.gameFinished = game.isGameFinished();
+        this.cycleLength = game.getCycleLength();
+        this.version = game.getVersion();
     }
 
     public String getId() {
@@ -117,4 +126,20 @@ public class GameDto {
     public void setGameFinished(boolean gameFinished) {
         this.gameFinished = gameFinished;
     }
+
+    public int getCycleLength() {
+        return cycleLength;
+    }
+
+    public void setCycleLength(int cycleLength) {
+        this.cycleLength = cycleLength;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,105 @@
+package com.cavacamisa.dto;
+
+import com.cavacamisa.model.GameEvent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEventDto {
+    private long version;
+    private String type;
+    private int playerIndex;
+    private Integer card; // Card ordinal: suit * 10 + rank - 1, suits in Bastoni, Spade, Ori, Coppe order
+    private Integer capturedBy;
+    private Integer capturedCount;
+    private int currentPlayerIndex;
+    private int cardsToPlay;
+    private String state;
+
+    public GameEventDto() {}
+
+    public GameEventDto(GameEvent event) {
+        this.version = event.getVersion();
+        this.type = event.getType().name();
+        this.playerIndex = event.getPlayerIndex();
+        this.card = event.getCard() != null ? (int) event.getCard().getOrdinal() : null;
+        if (event.getCapturedBy() >= 0) {
+            this.capturedBy = event.getCapturedBy();
+            this.capturedCount = event.getCapturedCount();
+        }
+        this.currentPlayerIndex = event.getCurrentPlayerIndex();
+        this.cardsToPlay = event.getCardsToPlay();
+        this.state = event.getState().name();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public void setPlayerIndex(int playerIndex) {
+        this.playerIndex = playerIndex;
+    }
+
+    public Integer getCard() {
+        return card;
+    }
+
+    public void setCard(Integer card) {
+        this.card = card;
+    }
+
+    public Integer getCapturedBy() {
+        return capturedBy;
+    }
+
+    public void setCapturedBy(Integer capturedBy) {
+        this.capturedBy = capturedBy;
+    }
+
+    public Integer getCapturedCount() {
+        return capturedCount;
+    }
+
+    public void setCapturedCount(Integer capturedCount) {
+        this.capturedCount = capturedCount;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public void setCurrentPlayerIndex(int currentPlayerIndex) {
+        this.currentPlayerIndex = currentPlayerIndex;
+    }
+
+    public int getCardsToPlay() {
+        return cardsToPlay;
+    }
+
+    public void setCardsToPlay(int cardsToPlay) {
+        this.cardsToPlay = cardsToPlay;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+}
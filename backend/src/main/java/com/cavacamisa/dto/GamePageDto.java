@@ -0,0 +1,35 @@
+package com.cavacamisa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// One page of the game list; pass nextCursor back as ?cursor= for the next one, absent on the last page
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GamePageDto {
+    private List<GameSummaryDto> games;
+    private String nextCursor;
+
+    public GamePageDto() {}
+
+    public GamePageDto(List<GameSummaryDto> games, String nextCursor) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<GameSummaryDto> getGames() {
+        return games;
+    }
+
+    public void setGames(List<GameSummaryDto> games) {
+        this.games = games;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
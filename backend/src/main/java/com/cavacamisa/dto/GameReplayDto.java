@@ -0,0 +1,55 @@
+package com.cavacamisa.dto;
+
+import com.cavacamisa.model.GameReplay;
+
+public class GameReplayDto {
+    private String gameId;
+    private String seed; // Hex string: JavaScript numbers cannot hold 64 bits
+    private long version;
+    private int moveCount;
+
+    public GameReplayDto() {}
+
+    public GameReplayDto(String gameId, GameReplay replay) {
+        this.gameId = gameId;
+        this.seed = Long.toHexString(replay.getSeed());
+        this.version = replay.getVersion();
+        this.moveCount = replay.getMoveCount();
+    }
+
+    public GameReplay toReplay() {
+        return new GameReplay(Long.parseUnsignedLong(seed, 16), version, moveCount);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getSeed() {
+        return seed;
+    }
+
+    public void setSeed(String seed) {
+        this.seed = seed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+}
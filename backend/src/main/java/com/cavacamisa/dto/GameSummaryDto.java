@@ -0,0 +1,89 @@
+package com.cavacamisa.dto;
+
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.Player;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Listing projection: who plays and where the game stands, nothing that changes with every move
+public class GameSummaryDto {
+    private String id;
+    private String state;
+    private List<Seat> players;
+    private Instant createdAt;
+
+    public GameSummaryDto() {}
+
+    public GameSummaryDto(Game game) {
+        this.id = game.getId();
+        this.state = game.getState().name();
+        List<Player> seated = game.getPlayers();
+        this.players = new ArrayList<>(seated.size());
+        for (Player player : seated) {
+            players.add(new Seat(player.getId(), player.getName()));
+        }
+        this.createdAt = Instant.ofEpochMilli(game.getCreatedAt());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public List<Seat> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<Seat> players) {
+        this.players = players;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public static class Seat {
+        private String id;
+        private String name;
+
+        public Seat() {}
+
+        public Seat(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
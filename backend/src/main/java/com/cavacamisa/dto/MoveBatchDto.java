@@ -0,0 +1,118 @@
+package com.cavacamisa.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Outcome of several moves played in one request; events are left out when the batch outran the game's history
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoveBatchDto {
+    public enum StopReason {
+        LIMIT, // maxCards played
+        TURN_PASSED,
+        CAPTURE,
+        GAME_OVER
+    }
+
+    private String gameId;
+    private long fromVersion;
+    private long toVersion;
+    private int cardsPlayed;
+    private int captures;
+    private StopReason stopReason;
+    private String state;
+    private int currentPlayerIndex;
+    private int cardsToPlay;
+    private Integer winnerIndex;
+    private List<GameEventDto> events;
+
+    public MoveBatchDto() {}
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getFromVersion() {
+        return fromVersion;
+    }
+
+    public void setFromVersion(long fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public void setToVersion(long toVersion) {
+        this.toVersion = toVersion;
+    }
+
+    public int getCardsPlayed() {
+        return cardsPlayed;
+    }
+
+    public void setCardsPlayed(int cardsPlayed) {
+        this.cardsPlayed = cardsPlayed;
+    }
+
+    public int getCaptures() {
+        return captures;
+    }
+
+    public void setCaptures(int captures) {
+        this.captures = captures;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public void setStopReason(StopReason stopReason) {
+        this.stopReason = stopReason;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public void setCurrentPlayerIndex(int currentPlayerIndex) {
+        this.currentPlayerIndex = currentPlayerIndex;
+    }
+
+    public int getCardsToPlay() {
+        return cardsToPlay;
+    }
+
+    public void setCardsToPlay(int cardsToPlay) {
+        this.cardsToPlay = cardsToPlay;
+    }
+
+    public Integer getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public void setWinnerIndex(Integer winnerIndex) {
+        this.winnerIndex = winnerIndex;
+    }
+
+    public List<GameEventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<GameEventDto> events) {
+        this.events = events;
+    }
+}
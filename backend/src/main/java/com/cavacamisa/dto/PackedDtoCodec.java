@@ -0,0 +1,356 @@
+package com.cavacamisa.dto;
+
+import com.cavacamisa.model.Card;
+import com.cavacamisa.model.GameEvent;
+import com.cavacamisa.model.GameState;
+import com.cavacamisa.model.Suit;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Packed binary form of the game responses, served for {@value #MEDIA_TYPE}, and its decoder for
+ * bot clients.
+ *
+ * A message is a kind byte ('G' game, 'P' player, 'D' delta) and the body. Counts, versions and
+ * sizes are unsigned LEB128 varints, strings a varint of the byte length plus one (0 for null) and
+ * UTF-8, enums their ordinal, cards one byte each (the ordinal, see {@link Card}) and an absent
+ * index or card 0xFF.
+ *
+ * Game: id, state, version, current player, cards to play, cycle length, finished, player count,
+ * players, last winning player / winner / loser as seat indexes, table size, table cards.
+ * Player: id, name, deck size, captured cards, flags (1 has cards, 2 deck included), deck cards.
+ * Delta: game id, from and to version, then 1 and a game, or 0, an event count and the events.
+ * Event: version, type, player, card, captured by, captured count, current player, cards to play,
+ * state.
+ *
+ * Decoded DTOs are ordinary mutable objects; their cards are the shared {@link CardDto} instances.
+ * Truncated or malformed input is rejected with an {@link IllegalArgumentException}.
+ */
+public final class PackedDtoCodec {
+    public static final String MEDIA_TYPE = "application/vnd.cavacamisa.packed";
+
+    private static final byte GAME = 'G';
+    private static final byte PLAYER = 'P';
+    private static final byte DELTA = 'D';
+    private static final int NONE = 0xFF;
+    private static final GameState[] STATES = GameState.values();
+    private static final GameEvent.Type[] EVENT_TYPES = GameEvent.Type.values();
+    private static final Suit[] SUITS = Suit.values();
+
+    private PackedDtoCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == GameDto.class || type == PlayerDto.class || type == GameDeltaDto.class;
+    }
+
+    public static byte[] encode(Object dto) {
+        Writer out = new Writer();
+        if (dto instanceof GameDto game) {
+            out.write(GAME);
+            writeGame(out, game);
+        } else if (dto instanceof PlayerDto player) {
+            out.write(PLAYER);
+            writePlayer(out, player);
+        } else if (dto instanceof GameDeltaDto delta) {
+            out.write(DELTA);
+            writeDelta(out, delta);
+        } else {
+            throw new IllegalArgumentException("No packed form for " + dto.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    public static GameDto decodeGame(byte[] bytes) {
+        return decode(bytes, GAME, PackedDtoCodec::readGame);
+    }
+
+    public static PlayerDto decodePlayer(byte[] bytes) {
+        return decode(bytes, PLAYER, PackedDtoCodec::readPlayer);
+    }
+
+    public static GameDeltaDto decodeDelta(byte[] bytes) {
+        return decode(bytes, DELTA, PackedDtoCodec::readDelta);
+    }
+
+    private static <T> T decode(byte[] bytes, byte kind, Function<ByteBuffer, T> reader) {
+        if (bytes.length == 0 || bytes[0] != kind) {
+            throw new IllegalArgumentException("Not a packed " + (char) kind + " message");
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        T dto;
+        try {
+            dto = reader.apply(in);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated packed " + (char) kind + " message", e);
+        }
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException(in.remaining() + " trailing bytes after packed " + (char) kind + " message");
+        }
+        return dto;
+    }
+
+    private static void writeGame(Writer out, GameDto game) {
+        out.writeString(game.getId());
+        out.write(stateOf(game.getState()).ordinal());
+        out.writeVarLong(game.getVersion());
+        out.write(game.getCurrentPlayerIndex());
+        out.write(game.getCardsToPlay());
+        out.writeVarLong(game.getCycleLength());
+        out.write(game.isGameFinished() ? 1 : 0);
+        List<PlayerDto> players = game.getPlayers();
+        out.write(players.size());
+        for (PlayerDto player : players) {
+            writePlayer(out, player);
+        }
+        out.write(seatOf(players, game.getLastWinningPlayer()));
+        out.write(seatOf(players, game.getWinner()));
+        out.write(seatOf(players, game.getLoser()));
+        writeCards(out, game.getTableCards());
+    }
+
+    private static GameDto readGame(ByteBuffer in) {
+        GameDto game = new GameDto();
+        game.setId(readString(in));
+        game.setState(STATES[readOrdinal(in, STATES.length)].getDisplayName());
+        game.setVersion(readVarLong(in));
+        game.setCurrentPlayerIndex(in.get());
+        game.setCardsToPlay(in.get());
+        game.setCycleLength((int) readVarLong(in));
+        game.setGameFinished(in.get() != 0);
+        int playerCount = readCount(in, in.get() & 0xFF);
+        List<PlayerDto> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(readPlayer(in));
+        }
+        game.setPlayers(players);
+        game.setLastWinningPlayer(playerAt(players, in.get()));
+        game.setWinner(playerAt(players, in.get()));
+        game.setLoser(playerAt(players, in.get()));
+        game.setTableCards(readCards(in));
+        return game;
+    }
+
+    private static void writePlayer(Writer out, PlayerDto player) {
+        out.writeString(player.getId());
+        out.writeString(player.getName());
+        out.writeVarLong(player.getDeckSize());
+        out.writeVarLong(player.getCapturedCardsCount());
+        out.write((player.isHasCards() ? 1 : 0) | (player.getDeck() != null ? 2 : 0));
+        if (player.getDeck() != null) {
+            writeCards(out, player.getDeck());
+        }
+    }
+
+    private static PlayerDto readPlayer(ByteBuffer in) {
+        PlayerDto player = new PlayerDto();
+        player.setId(readString(in));
+        player.setName(readString(in));
+        player.setDeckSize((int) readVarLong(in));
+        player.setCapturedCardsCount((int) readVarLong(in));
+        int flags = in.get();
+        player.setHasCards((flags & 1) != 0);
+        if ((flags & 2) != 0) {
+            player.setDeck(readCards(in));
+        }
+        return player;
+    }
+
+    private static void writeDelta(Writer out, GameDeltaDto delta) {
+        out.writeString(delta.getGameId());
+        out.writeVarLong(delta.getFromVersion());
+        out.writeVarLong(delta.getToVersion());
+        if (delta.getSnapshot() != null) {
+            out.write(1);
+            writeGame(out, delta.getSnapshot());
+            return;
+        }
+        out.write(0);
+        List<GameEventDto> events = delta.getEvents();
+        out.writeVarLong(events.size());
+        for (GameEventDto event : events) {
+            out.writeVarLong(event.getVersion());
+            out.write(GameEvent.Type.valueOf(event.getType()).ordinal());
+            out.write(event.getPlayerIndex());
+            out.write(event.getCard() != null ? event.getCard() : NONE);
+            out.write(event.getCapturedBy() != null ? event.getCapturedBy() : NONE);
+            out.writeVarLong(event.getCapturedCount() != null ? event.getCapturedCount() : 0);
+            out.write(event.getCurrentPlayerIndex());
+            out.write(event.getCardsToPlay());
+            out.write(GameState.valueOf(event.getState()).ordinal());
+        }
+    }
+
+    private static GameDeltaDto readDelta(ByteBuffer in) {
+        String gameId = readString(in);
+        long fromVersion = readVarLong(in);
+        long toVersion = readVarLong(in);
+        if (in.get() != 0) {
+            GameDeltaDto delta = GameDeltaDto.ofSnapshot(fromVersion, readGame(in));
+            delta.setToVersion(toVersion);
+            return delta;
+        }
+        int count = readCount(in, readVarLong(in));
+        List<GameEventDto> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GameEventDto event = new GameEventDto();
+            event.setVersion(readVarLong(in));
+            event.setType(EVENT_TYPES[readOrdinal(in, EVENT_TYPES.length)].name());
+            event.setPlayerIndex(in.get());
+            event.setCard(optional(in.get()));
+            Integer capturedBy = optional(in.get());
+            int capturedCount = (int) readVarLong(in);
+            if (capturedBy != null) {
+                event.setCapturedBy(capturedBy);
+                event.setCapturedCount(capturedCount);
+            }
+            event.setCurrentPlayerIndex(in.get());
+            event.setCardsToPlay(in.get());
+            event.setState(STATES[readOrdinal(in, STATES.length)].name());
+            events.add(event);
+        }
+        return GameDeltaDto.ofEvents(gameId, fromVersion, toVersion, events);
+    }
+
+    private static void writeCards(Writer out, List<CardDto> cards) {
+        out.writeVarLong(cards.size());
+        for (CardDto card : cards) {
+            out.write(ordinalOf(card));
+        }
+    }
+
+    private static List<CardDto> readCards(ByteBuffer in) {
+        int count = readCount(in, readVarLong(in));
+        List<CardDto> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(CardDto.of(Card.fromOrdinal(readOrdinal(in, Card.DECK_SIZE))));
+        }
+        return cards;
+    }
+
+    private static int ordinalOf(CardDto card) {
+        for (Suit suit : SUITS) {
+            if (suit.getDisplayName().equals(card.getSuit())) {
+                return Card.of(card.getRank(), suit).getOrdinal();
+            }
+        }
+        throw new IllegalArgumentException("Unknown suit: " + card.getSuit());
+    }
+
+    // The DTOs carry the display name; the wire carries the ordinal
+    private static GameState stateOf(String displayName) {
+        for (GameState state : STATES) {
+            if (state.getDisplayName().equals(displayName)) {
+                return state;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game state: " + displayName);
+    }
+
+    private static int seatOf(List<PlayerDto> players, PlayerDto player) {
+        if (player == null) {
+            return NONE;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getId().equals(player.getId())) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private static PlayerDto playerAt(List<PlayerDto> players, byte seat) {
+        if (seat == (byte) NONE) {
+            return null;
+        }
+        if (seat < 0 || seat >= players.size()) {
+            throw new IllegalArgumentException("Seat " + seat + " out of " + players.size() + " players");
+        }
+        return players.get(seat);
+    }
+
+    private static Integer optional(byte value) {
+        return value == (byte) NONE ? null : Integer.valueOf(value);
+    }
+
+    private static int readOrdinal(ByteBuffer in, int bound) {
+        int ordinal = in.get() & 0xFF;
+        if (ordinal >= bound) {
+            throw new IllegalArgumentException("Ordinal " + ordinal + " out of range " + bound);
+        }
+        return ordinal;
+    }
+
+    // Every counted element takes at least one byte, so a count beyond what is left is corrupt
+    private static int readCount(ByteBuffer in, long count) {
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Count " + count + " exceeds the " + in.remaining() + " bytes left");
+        }
+        return (int) count;
+    }
+
+    private static String readString(ByteBuffer in) {
+        long encoded = readVarLong(in);
+        if (encoded == 0) {
+            return null;
+        }
+        int length = readCount(in, encoded - 1);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    private static final class Writer {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            for (byte b : utf8) {
+                write(b);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cavacamisa.dto;
+
+public class PlayBatchRequest {
+    public static final int MAX_CARDS = 64; // Events of a whole batch stay in the game's history
+
+    private String playerId;
+    private int maxCards = MAX_CARDS;
+
+    public PlayBatchRequest() {}
+
+    public PlayBatchRequest(String playerId, int maxCards) {
+        this.playerId = playerId;
+        this.maxCards = maxCards;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public int getMaxCards() {
+        return maxCards;
+    }
+
+    public void setMaxCards(int maxCards) {
+        this.maxCards = maxCards;
+    }
+}
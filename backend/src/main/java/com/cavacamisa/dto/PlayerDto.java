@@ -1,13 +1,15 @@
 package com.cavacamisa.dto;
 
 import com.cavacamisa.model.Player;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class PlayerDto {
     private String id;
     private String name;
-    private List<CardDto> deck;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CardDto> deck; // Hidden information: only filled in the full (debug) view
     private int deckSize;
     private int capturedCardsCount;
     private boolean hasCards;
@@ -15,11 +17,17 @@ public class PlayerDto {
     public PlayerDto() {}
 
     public PlayerDto(Player player) {
+        this(player, true);
+    }
+
+    public PlayerDto(Player player, boolean includeDeck) {
         this.id = player.getId();
         this.name = player.getName();
-        this.deck = player.getDeck().stream()
-                .map(CardDto::new)
-                .collect(Collectors.toList());
+        if (includeDeck) {
+            this.deck = player.getDeckView().stream()
+                    .map(CardDto::of)
+                    .collect(Collectors.toList());
+        }
         this.deckSize = player.getDeckSize();
         this.hasCards = player.hasCards();
     }
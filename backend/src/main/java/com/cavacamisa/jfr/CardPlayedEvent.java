@@ -0,0 +1,29 @@
+package com.cavacamisa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cavacamisa.CardPlayed")
+@Label("Card Played")
+@Description("A player put the top card of their deck on the table")
+@Category("Cavacamisa")
+@StackTrace(false)
+public class CardPlayedEvent extends jdk.jfr.Event {
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Player Index")
+    public int playerIndex;
+
+    @Label("Card")
+    public String card;
+
+    @Label("Table Size")
+    public int tableSize;
+
+    @Label("Version")
+    public long version;
+}
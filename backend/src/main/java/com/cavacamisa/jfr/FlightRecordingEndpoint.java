@@ -0,0 +1,33 @@
+package com.cavacamisa.jfr;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * {@code GET /actuator/flightrecording?minutes=N}: the game flight recording of the last N minutes
+ * as a .jfr file, for JDK Mission Control or {@code jfr print}.
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    @Autowired
+    private GameFlightRecorder recorder;
+
+    @ReadOperation
+    public Resource dump(@Nullable Integer minutes) throws IOException {
+        if (!recorder.isRecording()) {
+            return null; // Actuator answers 404
+        }
+        Duration window = minutes != null ? Duration.ofMinutes(minutes) : recorder.getDefaultWindow();
+        return new FileSystemResource(recorder.dump(window));
+    }
+}
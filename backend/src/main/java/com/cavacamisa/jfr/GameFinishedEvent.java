@@ -0,0 +1,27 @@
+package com.cavacamisa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cavacamisa.GameFinished")
+@Label("Game Finished")
+@Description("A game reached a terminal state")
+@Category("Cavacamisa")
+@StackTrace(false)
+public class GameFinishedEvent extends jdk.jfr.Event {
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("State")
+    public String state;
+
+    @Label("Moves")
+    public int moves;
+
+    @Label("Cycle Length")
+    @Description("Length of the repeating cycle for games drawn by repetition, 0 otherwise")
+    public int cycleLength;
+}
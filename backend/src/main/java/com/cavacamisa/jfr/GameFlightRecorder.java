@@ -0,0 +1,107 @@
+package com.cavacamisa.jfr;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Continuous, disk-backed JFR recording of the game events. The JVM keeps the recording in
+ * rotating chunks bounded by max age and max size; a dump copies the chunks of a recent window.
+ */
+@Component
+public class GameFlightRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(GameFlightRecorder.class);
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            CardPlayedEvent.class, PenaltyStartedEvent.class, PileCapturedEvent.class, GameFinishedEvent.class);
+
+    private final CavacamisaProperties.FlightRecorder config;
+    private Recording recording;
+    private Path lastDump; // Deleted by the next dump, so at most one dump file is left behind
+
+    @Autowired
+    public GameFlightRecorder(CavacamisaProperties properties) {
+        this.config = properties.getFlightRecorder();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        recording = new Recording();
+        recording.setName("cavacamisa");
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            recording.enable(event);
+        }
+        recording.setToDisk(true);
+        recording.setMaxAge(config.getMaxAge());
+        recording.setMaxSize(config.getMaxSize().toBytes());
+        recording.start();
+        logger.info("Game flight recording started (max age {}, max size {} bytes)", config.getMaxAge(),
+                config.getMaxSize().toBytes());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    public Duration getDefaultWindow() {
+        return config.getDumpWindow();
+    }
+
+    /**
+     * Writes the chunks covering the last {@code window} to a new .jfr file. Chunk boundaries make
+     * the dump start up to one chunk earlier than asked.
+     */
+    public synchronized Path dump(Duration window) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is disabled");
+        }
+        FlightRecorderMXBean bean = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+        Path file = Files.createTempFile("cavacamisa-", ".jfr");
+        // Only stopped recordings can be streamed: a stopped copy shares the chunks, the original keeps going
+        try (Recording snapshot = recording.copy(true)) {
+            long streamId = bean.openStream(snapshot.getId(), Map.of("startTime", Instant.now().minus(window).toString()));
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] block;
+                while ((block = bean.readStream(streamId)) != null) {
+                    out.write(block);
+                }
+            } finally {
+                bean.closeStream(streamId);
+            }
+        }
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+        lastDump = file;
+        return file;
+    }
+}
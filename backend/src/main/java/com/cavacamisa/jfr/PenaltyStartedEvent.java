@@ -0,0 +1,27 @@
+package com.cavacamisa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cavacamisa.PenaltyStarted")
+@Label("Penalty Started")
+@Description("An Asso, Due or Tre obliges the opponent to play up to three cards")
+@Category("Cavacamisa")
+@StackTrace(false)
+public class PenaltyStartedEvent extends jdk.jfr.Event {
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Player Index")
+    @Description("Player who played the winning card")
+    public int playerIndex;
+
+    @Label("Card")
+    public String card;
+
+    @Label("Cards To Play")
+    public int cardsToPlay;
+}
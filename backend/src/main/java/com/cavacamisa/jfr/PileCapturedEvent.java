@@ -0,0 +1,23 @@
+package com.cavacamisa.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.cavacamisa.PileCaptured")
+@Label("Pile Captured")
+@Description("The table pile went to the player whose penalty was not answered")
+@Category("Cavacamisa")
+@StackTrace(false)
+public class PileCapturedEvent extends jdk.jfr.Event {
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Player Index")
+    public int playerIndex;
+
+    @Label("Card Count")
+    public int cardCount;
+}
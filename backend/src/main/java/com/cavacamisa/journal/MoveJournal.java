@@ -0,0 +1,697 @@
+package com.cavacamisa.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of game service mutations in memory-mapped segment files.
+ *
+ * Record layout: body length (2 bytes), body (type byte + payload), CRC32C of the body (4 bytes).
+ * Game and player ids are stored as 16-byte UUIDs, so a move takes 23 bytes. Clustered nodes put
+ * their node id in front of the UUID ({@code node1.3f2c...}): records with such ids set a flag in
+ * the type byte and store every id as the node id's length (1 byte), its UTF-8 bytes and the UUID.
+ * Any other id sets a second flag, and the record stores every id as its UTF-8 length (1 byte) and
+ * bytes. A zero length marks the end of a segment; a record with a bad checksum is a torn write and
+ * ends the replay.
+ *
+ * Appends only copy the record into the mapped segment: the page cache survives a process crash
+ * by itself, and a flusher thread forces the written range to disk every group-commit interval,
+ * which bounds what an OS crash or power loss can take.
+ *
+ * Once enough segments are sealed, a compactor thread rewrites them into one, without the records
+ * of the games and players deleted in them, so the journal grows with the live games rather than
+ * with every move ever played. The compacted segment starts with a marker record and replaces the
+ * newest of the segments it covers; segments older than a compacted one are leftovers of an
+ * interrupted compaction and are deleted on open.
+ */
+public final class MoveJournal implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MoveJournal.class);
+
+    private static final byte GAME_CREATED = 1;
+    private static final byte PLAYER_CREATED = 2;
+    private static final byte PLAYER_JOINED = 3;
+    private static final byte CARD_PLAYED = 4;
+    private static final byte GAME_DELETED = 5;
+    private static final byte PLAYER_DELETED = 6;
+    private static final byte COMPACTED = 7;
+    // Type flags: the record's ids carry a node prefix, or are stored as strings
+    private static final byte NODE_IDS = (byte) 0x80;
+    private static final byte STRING_IDS = 0x40;
+    private static final int TYPE_MASK = 0x3F;
+    private static final char NODE_SEPARATOR = '.';
+    private static final int UUID_LENGTH = 36;
+
+    private static final int LENGTH_BYTES = 2;
+    private static final int CRC_BYTES = 4;
+    private static final int MAX_NODE_BYTES = 255;
+    private static final int MAX_ID_BYTES = 255;
+    private static final int MAX_NAME_BYTES = 1024;
+    // Player created with the longest node id and name
+    private static final int MAX_BODY = 1 + 1 + MAX_NODE_BYTES + 16 + 2 + MAX_NAME_BYTES;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    /**
+     * Receives the journaled mutations in order during replay.
+     */
+    public interface Visitor {
+        // createdAt is 0 for games journaled before creation times were recorded
+        void gameCreated(String gameId, long seed, long createdAt);
+
+        void playerCreated(String playerId, String name);
+
+        void playerJoined(String gameId, String playerId);
+
+        void cardPlayed(String gameId);
+
+        void gameDeleted(String gameId);
+
+        void playerDeleted(String playerId);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int compactAfterSegments;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MAX_BODY);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService compactor; // null when compaction is disabled
+    // Guarded by lock
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private int flushedPosition;
+    private boolean closed;
+
+    private MoveJournal(Path directory, int segmentSize, long groupCommitMillis, int compactAfterSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactAfterSegments = compactAfterSegments;
+        this.compactor = compactAfterSegments > 0 ? Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Journal group commit failed", e); // Keep the flusher scheduled
+            }
+        }, groupCommitMillis, groupCommitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replays every segment in {@code directory} through {@code visitor}, then opens the journal
+     * for appends right after the last valid record. The sealed segments are compacted whenever
+     * there are {@code compactAfterSegments} of them; 0 keeps every segment.
+     */
+    public static MoveJournal open(Path directory, int segmentSize, Duration groupCommitInterval,
+                                   int compactAfterSegments, Visitor visitor) throws IOException {
+        if (segmentSize < 64 * 1024) {
+            throw new IllegalArgumentException("Journal segments must be at least 64 KB");
+        }
+        if (compactAfterSegments < 0) {
+            throw new IllegalArgumentException("compactAfterSegments must not be negative");
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        dropSupersededSegments(segments);
+        int lastEnd = 0;
+        for (Path path : segments) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                lastEnd = replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), visitor);
+            }
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Replayed {} journal segments from {}", segments.size(), directory);
+        }
+
+        MoveJournal journal = new MoveJournal(directory, segmentSize, Math.max(1, groupCommitInterval.toMillis()),
+                compactAfterSegments);
+        journal.lock.lock();
+        try {
+            if (segments.isEmpty()) {
+                journal.openSegment(0, 0);
+            } else {
+                journal.openSegment(indexOf(segments.get(segments.size() - 1)), lastEnd);
+            }
+        } finally {
+            journal.lock.unlock();
+        }
+        journal.scheduleCompaction();
+        return journal;
+    }
+
+    public void gameCreated(String gameId, long seed, long createdAt) {
+        lock.lock();
+        try {
+            begin(GAME_CREATED, gameId);
+            scratch.putLong(seed);
+            scratch.putLong(createdAt);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void playerCreated(String playerId, String name) {
+        byte[] nameBytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(nameBytes.length, MAX_NAME_BYTES);
+        lock.lock();
+        try {
+            begin(PLAYER_CREATED, playerId);
+            scratch.putShort((short) nameLength);
+            scratch.put(nameBytes, 0, nameLength);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void playerJoined(String gameId, String playerId) {
+        lock.lock();
+        try {
+            begin(PLAYER_JOINED, gameId, playerId);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cardPlayed(String gameId) {
+        lock.lock();
+        try {
+            begin(CARD_PLAYED, gameId);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void gameDeleted(String gameId) {
+        lock.lock();
+        try {
+            begin(GAME_DELETED, gameId);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void playerDeleted(String playerId) {
+        lock.lock();
+        try {
+            begin(PLAYER_DELETED, playerId);
+            commit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     */
+    public void flush() {
+        MappedByteBuffer toForce;
+        int from;
+        int to;
+        lock.lock();
+        try {
+            if (closed || position == flushedPosition) {
+                return;
+            }
+            toForce = segment;
+            from = flushedPosition;
+            to = position;
+            flushedPosition = position;
+        } finally {
+            lock.unlock();
+        }
+        // Outside the lock: appends keep going while the pages are written
+        toForce.force(from, to - from);
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        if (compactor != null) {
+            compactor.shutdown();
+            try {
+                // A compaction in progress finishes, so a reopened journal never sees it half done
+                compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            segment.force();
+            closed = true;
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close journal segment {}", segmentIndex, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock for begin() ... commit()
+    private void begin(byte type, String... ids) {
+        boolean nodeIds = false;
+        boolean stringIds = false;
+        for (String id : ids) {
+            int separator = id.indexOf(NODE_SEPARATOR);
+            nodeIds |= separator >= 0;
+            stringIds |= !isUuid(id, separator + 1);
+        }
+        scratch.clear();
+        if (stringIds) {
+            scratch.put((byte) (type | STRING_IDS));
+            for (String id : ids) {
+                putString(id);
+            }
+            return;
+        }
+        scratch.put(nodeIds ? (byte) (type | NODE_IDS) : type);
+        for (String id : ids) {
+            putId(id, nodeIds);
+        }
+    }
+
+    // Only the canonical lowercase form goes into 16 bytes: it is the one that reads back unchanged
+    private static boolean isUuid(String id, int from) {
+        if (id.length() - from != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = id.charAt(from + i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void putString(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("Id too long for the journal: " + id);
+        }
+        scratch.put((byte) bytes.length);
+        scratch.put(bytes);
+    }
+
+    private void putId(String id, boolean nodeIds) {
+        int separator = id.indexOf(NODE_SEPARATOR);
+        if (nodeIds) {
+            byte[] node = id.substring(0, Math.max(separator, 0)).getBytes(StandardCharsets.UTF_8);
+            if (node.length > MAX_NODE_BYTES) {
+                throw new IllegalArgumentException("Node id too long for the journal: " + id);
+            }
+            scratch.put((byte) node.length);
+            scratch.put(node);
+        }
+        UUID uuid = UUID.fromString(id.substring(separator + 1));
+        scratch.putLong(uuid.getMostSignificantBits());
+        scratch.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private void commit() {
+        if (closed) {
+            return; // Late mutation during shutdown
+        }
+        int bodyLength = scratch.position();
+        int recordLength = LENGTH_BYTES + bodyLength + CRC_BYTES;
+        if (position + recordLength + LENGTH_BYTES > segmentSize) {
+            rollSegment();
+        }
+        crc.reset();
+        crc.update(scratch.array(), 0, bodyLength);
+        segment.put(position + LENGTH_BYTES, scratch.array(), 0, bodyLength);
+        segment.putInt(position + LENGTH_BYTES + bodyLength, (int) crc.getValue());
+        // Length last: a crash in the middle of an append leaves a zero length, a clean end of segment
+        segment.putShort(position, (short) bodyLength);
+        position += recordLength;
+    }
+
+    private void rollSegment() {
+        // Rare (once per segment): the full segment is forced inline before moving on
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close journal segment {}", segmentIndex, e);
+        }
+        openSegment(segmentIndex + 1, 0);
+        scheduleCompaction();
+    }
+
+    private void scheduleCompaction() {
+        if (compactor != null && !compactor.isShutdown()) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Journal compaction failed, the segments are kept as they are", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rewrites the sealed segments into one if there are at least {@code compactAfterSegments} of
+     * them. Runs on the compactor thread; appends go on in the active segment meanwhile.
+     */
+    synchronized void compact() throws IOException {
+        int active;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            active = segmentIndex;
+        } finally {
+            lock.unlock();
+        }
+        List<Path> sealed = new ArrayList<>();
+        for (Path path : segments(directory)) {
+            if (indexOf(path) < active) {
+                sealed.add(path);
+            }
+        }
+        if (sealed.isEmpty() || sealed.size() < compactAfterSegments) {
+            return;
+        }
+
+        // First pass: what was deleted; second pass: copy every record that still matters
+        Compaction compaction = new Compaction();
+        for (Path path : sealed) {
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                scan(in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()), compaction::collect);
+            }
+        }
+        compaction.seal();
+
+        Path target = sealed.get(sealed.size() - 1);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, marker());
+            for (Path path : sealed) {
+                try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                    scan(buffer, (record, start, length) -> {
+                        if (compaction.keep(record)) {
+                            writeFully(out, buffer.slice(start, length));
+                        }
+                    });
+                }
+            }
+            out.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // The marker makes the older segments stale from here on, even if deleting them is cut short
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (Path path : sealed.subList(0, sealed.size() - 1)) {
+            Files.delete(path);
+        }
+        logger.info("Compacted {} journal segments into {}: {} of {} records kept",
+                sealed.size(), target.getFileName(), compaction.kept, compaction.records);
+    }
+
+    private static ByteBuffer marker() {
+        ByteBuffer marker = ByteBuffer.allocate(LENGTH_BYTES + 1 + CRC_BYTES);
+        CRC32C checksum = new CRC32C();
+        checksum.update(COMPACTED);
+        marker.putShort((short) 1).put(COMPACTED).putInt((int) checksum.getValue());
+        return marker.flip();
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Only the segments from the last compacted one on are current
+    private static void dropSupersededSegments(List<Path> segments) throws IOException {
+        int current = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (isCompacted(segments.get(i))) {
+                current = i;
+            }
+        }
+        for (Path stale : segments.subList(0, current)) {
+            logger.warn("Deleting journal segment {}, superseded by an interrupted compaction", stale.getFileName());
+            Files.delete(stale);
+        }
+        segments.subList(0, current).clear();
+    }
+
+    private static boolean isCompacted(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer first = ByteBuffer.allocate(LENGTH_BYTES + 1);
+            channel.read(first, 0);
+            return first.position() == first.capacity() && first.getShort(0) == 1 && first.get(LENGTH_BYTES) == COMPACTED;
+        }
+    }
+
+    private void openSegment(int index, int startPosition) {
+        try {
+            Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int size = (int) Math.max(segmentSize, channel.size());
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            // Clear whatever a torn write left behind the last valid record: pages reach the disk in any order
+            for (int i = startPosition; i < size; i++) {
+                segment.put(i, (byte) 0);
+            }
+            segmentIndex = index;
+            position = startPosition;
+            flushedPosition = startPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + index + " in " + directory, e);
+        }
+    }
+
+    // Returns the position after the last valid record
+    private static int replay(ByteBuffer buffer, Visitor visitor) {
+        return scan(buffer, (record, start, length) -> apply(record, visitor));
+    }
+
+    private interface RecordHandler {
+        // record holds the body; start and length frame the whole record in the segment
+        void handle(ByteBuffer record, int start, int length);
+    }
+
+    // Hands every valid record to the handler and returns the position after the last one
+    private static int scan(ByteBuffer buffer, RecordHandler handler) {
+        CRC32C checksum = new CRC32C();
+        byte[] body = new byte[MAX_BODY];
+        ByteBuffer reader = ByteBuffer.wrap(body);
+        int position = 0;
+        int limit = buffer.limit();
+        while (position + LENGTH_BYTES <= limit) {
+            int bodyLength = Short.toUnsignedInt(buffer.getShort(position));
+            if (bodyLength == 0 || bodyLength > MAX_BODY || position + LENGTH_BYTES + bodyLength + CRC_BYTES > limit) {
+                break;
+            }
+            buffer.get(position + LENGTH_BYTES, body, 0, bodyLength);
+            checksum.reset();
+            checksum.update(body, 0, bodyLength);
+            if ((int) checksum.getValue() != buffer.getInt(position + LENGTH_BYTES + bodyLength)) {
+                logger.warn("Torn journal record at offset {}, ignoring the rest of the segment", position);
+                break;
+            }
+            reader.clear().limit(bodyLength);
+            handler.handle(reader, position, LENGTH_BYTES + bodyLength + CRC_BYTES);
+            position += LENGTH_BYTES + bodyLength + CRC_BYTES;
+        }
+        return position;
+    }
+
+    private static void apply(ByteBuffer record, Visitor visitor) {
+        byte flags = record.get();
+        byte type = (byte) (flags & TYPE_MASK);
+        switch (type) {
+            case GAME_CREATED -> visitor.gameCreated(readId(record, flags), record.getLong(),
+                    record.remaining() >= Long.BYTES ? record.getLong() : 0L);
+            case PLAYER_CREATED -> {
+                String playerId = readId(record, flags);
+                byte[] name = new byte[Short.toUnsignedInt(record.getShort())];
+                record.get(name);
+                visitor.playerCreated(playerId, new String(name, StandardCharsets.UTF_8));
+            }
+            case PLAYER_JOINED -> visitor.playerJoined(readId(record, flags), readId(record, flags));
+            case CARD_PLAYED -> visitor.cardPlayed(readId(record, flags));
+            case GAME_DELETED -> visitor.gameDeleted(readId(record, flags));
+            case PLAYER_DELETED -> visitor.playerDeleted(readId(record, flags));
+            case COMPACTED -> {
+                // Start of a compacted segment, nothing to apply
+            }
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    private static String readId(ByteBuffer record, byte flags) {
+        if ((flags & STRING_IDS) != 0) {
+            byte[] bytes = new byte[Byte.toUnsignedInt(record.get())];
+            record.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        boolean nodeIds = (flags & NODE_IDS) != 0;
+        String node = "";
+        int nodeLength = nodeIds ? Byte.toUnsignedInt(record.get()) : 0;
+        if (nodeLength > 0) { // Zero for a plain id next to a prefixed one
+            byte[] bytes = new byte[nodeLength];
+            record.get(bytes);
+            node = new String(bytes, StandardCharsets.UTF_8) + NODE_SEPARATOR;
+        }
+        return node + new UUID(record.getLong(), record.getLong());
+    }
+
+    /**
+     * Decides which records of the sealed segments survive a compaction. A deleted game loses all
+     * its records. A deleted player loses theirs unless a surviving join still seats them, since
+     * replaying that join needs the player.
+     */
+    private static final class Compaction implements Visitor {
+        private final Set<String> deletedGames = new HashSet<>();
+        private final Set<String> deletedPlayers = new HashSet<>();
+        private final List<String[]> joins = new ArrayList<>();
+        private final Set<String> seatedPlayers = new HashSet<>();
+        private boolean sealed;
+        private boolean keep;
+        long records;
+        long kept;
+
+        void collect(ByteBuffer record, int start, int length) {
+            records++;
+            apply(record, this);
+        }
+
+        void seal() {
+            for (String[] join : joins) {
+                if (!deletedGames.contains(join[0])) {
+                    seatedPlayers.add(join[1]);
+                }
+            }
+            sealed = true;
+        }
+
+        boolean keep(ByteBuffer record) {
+            keep = false;
+            apply(record, this);
+            if (keep) {
+                kept++;
+            }
+            return keep;
+        }
+
+        private void game(String gameId) {
+            keep = !deletedGames.contains(gameId);
+        }
+
+        private void player(String playerId) {
+            keep = !deletedPlayers.contains(playerId) || seatedPlayers.contains(playerId);
+        }
+
+        @Override
+        public void gameCreated(String gameId, long seed, long createdAt) {
+            game(gameId);
+        }
+
+        @Override
+        public void playerCreated(String playerId, String name) {
+            player(playerId);
+        }
+
+        @Override
+        public void playerJoined(String gameId, String playerId) {
+            if (!sealed) {
+                joins.add(new String[] {gameId, playerId});
+            }
+            game(gameId);
+        }
+
+        @Override
+        public void cardPlayed(String gameId) {
+            game(gameId);
+        }
+
+        @Override
+        public void gameDeleted(String gameId) {
+            if (!sealed) {
+                deletedGames.add(gameId);
+            }
+            game(gameId);
+        }
+
+        @Override
+        public void playerDeleted(String playerId) {
+            if (!sealed) {
+                deletedPlayers.add(playerId);
+            }
+            player(playerId);
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static int indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
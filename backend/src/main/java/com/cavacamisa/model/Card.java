@@ -1,10 +1,31 @@
 package com.cavacamisa.model;
 
-import java.util.Objects;
-
 public class Card {
+    public static final int RANKS = 10;
+    public static final int DECK_SIZE = RANKS * Suit.COUNT; // 40 cards
+
+    private static final String[] RANK_NAMES = {
+        "Asso", "Due", "Tre", "Quattro", "Cinque", "Sei", "Sette", "Fante", "Cavallo", "Re"
+    };
+    // Asso=1, Due=2, Tre=3, every other rank is not a winning card
+    private static final int[] CARDS_TO_PLAY = {1, 2, 3, 0, 0, 0, 0, 0, 0, 0};
+    private static final String[] DISPLAY_NAMES = new String[DECK_SIZE];
+    // The 40 shared instances, indexed by ordinal (suit-major, rank-minor)
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (Suit suit : Suit.VALUES) {
+            for (int rank = 1; rank <= RANKS; rank++) {
+                int ordinal = ordinalOf(rank, suit);
+                DISPLAY_NAMES[ordinal] = RANK_NAMES[rank - 1] + " di " + suit.getDisplayName();
+                CARDS[ordinal] = new Card(rank, suit);
+            }
+        }
+    }
+
     private final int rank; // 1-10 (Asso=1, Due=2, Tre=3, ..., Re=10)
     private final Suit suit;
+    private final byte ordinal; // 0-39, dense index into the card universe
 
     public Card(int rank, Suit suit) {
         if (rank < 1 || rank > 10) {
@@ -12,6 +33,40 @@ public class Card {
         }
         this.rank = rank;
         this.suit = suit;
+        this.ordinal = (byte) ordinalOf(rank, suit);
+    }
+
+    public static Card of(int rank, Suit suit) {
+        if (rank < 1 || rank > RANKS) {
+            throw new IllegalArgumentException("Rank must be between 1 and 10");
+        }
+        return CARDS[ordinalOf(rank, suit)];
+    }
+
+    public static Card fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= DECK_SIZE) {
+            throw new IllegalArgumentException("Card ordinal must be between 0 and " + (DECK_SIZE - 1));
+        }
+        return CARDS[ordinal];
+    }
+
+    public static boolean isWinningOrdinal(int ordinal) {
+        return CARDS_TO_PLAY[ordinal % RANKS] != 0;
+    }
+
+    public static int cardsToPlayForOrdinal(int ordinal) {
+        return CARDS_TO_PLAY[ordinal % RANKS];
+    }
+
+    public static String rankName(int rank) {
+        if (rank < 1 || rank > RANKS) {
+            return String.valueOf(rank);
+        }
+        return RANK_NAMES[rank - 1];
+    }
+
+    private static int ordinalOf(int rank, Suit suit) {
+        return suit.ordinal() * RANKS + (rank - 1);
     }
 
     public int getRank() {
@@ -22,33 +77,20 @@ public class Card {
         return suit;
     }
 
+    public byte getOrdinal() {
+        return ordinal;
+    }
+
     public boolean isWinningCard() {
-        return rank == 1 || rank == 2 || rank == 3; // Asso, Due, Tre
+        return CARDS_TO_PLAY[rank - 1] != 0; // Asso, Due, Tre
     }
 
     public int getCardsToPlay() {
-        if (!isWinningCard()) {
-            return 0;
-        }
-        return rank; // Asso=1, Due=2, Tre=3
+        return CARDS_TO_PLAY[rank - 1]; // Asso=1, Due=2, Tre=3
     }
 
     public String getDisplayName() {
-        String rankName;
-        switch (rank) {
-            case 1: rankName = "Asso"; break;
-            case 2: rankName = "Due"; break;
-            case 3: rankName = "Tre"; break;
-            case 4: rankName = "Quattro"; break;
-            case 5: rankName = "Cinque"; break;
-            case 6: rankName = "Sei"; break;
-            case 7: rankName = "Sette"; break;
-            case 8: rankName = "Fante"; break;
-            case 9: rankName = "Cavallo"; break;
-            case 10: rankName = "Re"; break;
-            default: rankName = String.valueOf(rank);
-        }
-        return rankName + " di " + suit.getDisplayName();
+        return DISPLAY_NAMES[ordinal];
     }
 
     @Override
@@ -56,12 +98,12 @@ public class Card {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Card card = (Card) o;
-        return rank == card.rank && suit == card.suit;
+        return ordinal == card.ordinal;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rank, suit);
+        return ordinal;
     }
 
     @Override
@@ -0,0 +1,160 @@
+package com.cavacamisa.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Circular buffer of card ordinals: O(1) draw from the top and O(1) append to the bottom.
+ *
+ * The ring also keeps an order-sensitive hash of its content, sum(KEYS[card_i] * BASE^i) with
+ * i counted from the top, updated in O(1) on every draw and append (mod 2^64, BASE is odd so
+ * drawing can divide by it).
+ */
+public final class CardRing {
+    // Power of two so positions wrap with a mask; 64 slots hold a full deck without growing
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final long[] KEYS = new long[Card.DECK_SIZE];
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+    private static final long BASE_INVERSE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+        // Newton iteration for the inverse of an odd number mod 2^64
+        long inverse = BASE;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - BASE * inverse;
+        }
+        BASE_INVERSE = inverse;
+    }
+
+    private byte[] cards;
+    private int mask;
+    private int head;
+    private int size;
+    private long hash;
+    private long power = 1; // BASE^size
+
+    public CardRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CardRing(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.cards = new byte[slots];
+        this.mask = slots - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Ordinal of the card at {@code index} (0 = top of the deck).
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return cards[(head + index) & mask];
+    }
+
+    /**
+     * Removes the top card, returning its ordinal or -1 when the ring is empty.
+     */
+    public int pollFirst() {
+        if (size == 0) {
+            return -1;
+        }
+        int ordinal = cards[head];
+        head = (head + 1) & mask;
+        size--;
+        hash = (hash - KEYS[ordinal]) * BASE_INVERSE;
+        power *= BASE_INVERSE;
+        return ordinal;
+    }
+
+    public void addLast(int ordinal) {
+        if (size == cards.length) {
+            grow();
+        }
+        cards[(head + size) & mask] = (byte) ordinal;
+        size++;
+        hash += KEYS[ordinal] * power;
+        power *= BASE;
+    }
+
+    public void addAll(CardRing other) {
+        // Bound read once, so appending a ring to itself copies it once instead of chasing its own tail
+        for (int i = 0, n = other.size; i < n; i++) {
+            addLast(other.cards[(other.head + i) & other.mask]);
+        }
+    }
+
+    public void addAll(List<Card> cardsToAdd) {
+        for (int i = 0, n = cardsToAdd.size(); i < n; i++) {
+            addLast(cardsToAdd.get(i).getOrdinal());
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        hash = 0;
+        power = 1;
+    }
+
+    /**
+     * Copies the ordinals, top first, into {@code target} starting at {@code offset}.
+     */
+    public void copyTo(byte[] target, int offset) {
+        for (int i = 0; i < size; i++) {
+            target[offset + i] = cards[(head + i) & mask];
+        }
+    }
+
+    /**
+     * Read-only list view backed by the ring; reflects later draws and captures.
+     */
+    public List<Card> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Card get(int index) {
+                return Card.fromOrdinal(CardRing.this.get(index));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void grow() {
+        byte[] grown = new byte[cards.length << 1];
+        copyTo(grown, 0);
+        cards = grown;
+        mask = grown.length - 1;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        byte[] ordinals = new byte[size];
+        copyTo(ordinals, 0);
+        return Arrays.toString(ordinals);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cavacamisa.model;
+
+/**
+ * Brent's cycle detection over the sequence of game state hashes.
+ *
+ * Cavacamisa has no player choices, so the next state depends only on the current one: once a
+ * state repeats the game loops forever. The detector keeps a single checkpoint hash that jumps
+ * ahead at power-of-two distances, so memory is constant and each move costs one comparison.
+ * States are compared by their 64-bit hash only.
+ */
+public final class CycleDetector {
+    private long checkpoint;
+    private boolean started;
+    private int power = 1;
+    private int distance;
+    private int cycleLength;
+
+    // Combines the incremental pile hashes and the turn counters into one state hash
+    public static long stateHash(long firstDeckHash, long secondDeckHash, long tableHash,
+                                 int currentPlayerIndex, int cardsToPlay, int lastWinningIndex) {
+        long h = firstDeckHash * 0xD6E8FEB86659FD93L
+                + secondDeckHash * 0xA0761D6478BD642FL
+                + tableHash * 0xE7037ED1A0B428DBL
+                + (currentPlayerIndex | cardsToPlay << 1 | (lastWinningIndex + 1) << 3);
+        h = (h ^ (h >>> 32)) * 0x8EBC6AF09C88C6E3L;
+        return h ^ (h >>> 29);
+    }
+
+    // Records the next state; returns true once a state seen before comes round again
+    public boolean step(long stateHash) {
+        if (!started) {
+            checkpoint = stateHash;
+            started = true;
+            return false;
+        }
+        distance++;
+        if (stateHash == checkpoint) {
+            cycleLength = distance;
+            return true;
+        }
+        if (distance == power) {
+            checkpoint = stateHash;
+            power <<= 1;
+            distance = 0;
+        }
+        return false;
+    }
+
+    // Number of moves in the detected cycle, 0 until one is found
+    public int getCycleLength() {
+        return cycleLength;
+    }
+}
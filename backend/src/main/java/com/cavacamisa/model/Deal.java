@@ -0,0 +1,45 @@
+package com.cavacamisa.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeded shuffling of the 40-card deck, shared by {@link Game} and the offline simulator so that
+ * the same seed always produces the same deal.
+ */
+public final class Deal {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // SplitMix64 sequence: one lock-free add per seed. A per-thread generator would be split anew
+    // for every virtual thread, i.e. every request, under a shared lock.
+    private static final AtomicLong SEED_SEQUENCE = new AtomicLong(new SplittableRandom().nextLong());
+
+    private Deal() {
+    }
+
+    // Fresh 64-bit seed for a new game
+    public static long nextSeed() {
+        return mix64(SEED_SEQUENCE.addAndGet(GOLDEN_GAMMA));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Card ordinals in dealing order: the first half goes to the first player, the rest to the second
+    public static byte[] shuffledOrdinals(long seed) {
+        byte[] ordinals = new byte[Card.DECK_SIZE];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = (byte) i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = ordinals.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = ordinals[i];
+            ordinals[i] = ordinals[j];
+            ordinals[j] = swap;
+        }
+        return ordinals;
+    }
+}
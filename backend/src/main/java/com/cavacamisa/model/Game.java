@@ -1,38 +1,62 @@
 package com.cavacamisa.model;
 
+import com.cavacamisa.jfr.CardPlayedEvent;
+import com.cavacamisa.jfr.GameFinishedEvent;
+import com.cavacamisa.jfr.PenaltyStartedEvent;
+import com.cavacamisa.jfr.PileCapturedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Game {
     private static final Logger logger = LoggerFactory.getLogger(Game.class);
+    public static final int SEATS = 2;
     private final String id;
     private final List<Player> players;
-    private final List<Card> tableCards; // Cards on the table
+    private final CardRing tableCards; // Cards on the table
+    private final List<Card> tableCardsView;
     private GameState state;
     private int currentPlayerIndex;
     private int cardsToPlay; // Number of cards the current player must play
     private Player lastWinningPlayer; // Last player who played a winning card
     private final List<Card> deck; // Full deck of 40 cards
+    private final long seed; // Drives the shuffle, so the deal can be reproduced
+    private final long createdAt; // Epoch millis
+    private CycleDetector cycleDetector;
+    private long version; // Bumped by every successful join or move
+    private int moveCount;
+    private final GameEventLog events = new GameEventLog();
+    private final AtomicInteger claimedSeats = new AtomicInteger(); // Read and claimed off the game's thread
 
     public Game(String id) {
+        this(id, Deal.nextSeed());
+    }
+
+    public Game(String id, long seed) {
+        this(id, seed, System.currentTimeMillis());
+    }
+
+    public Game(String id, long seed, long createdAt) {
         this.id = id;
+        this.seed = seed;
+        this.createdAt = createdAt;
         this.players = new ArrayList<>();
-        this.tableCards = new ArrayList<>();
+        this.tableCards = new CardRing();
+        this.tableCardsView = tableCards.asList();
         this.state = GameState.WAITING_FOR_PLAYERS;
         this.currentPlayerIndex = 0;
         this.cardsToPlay = 0;
         this.lastWinningPlayer = null;
         this.deck = createDeck();
+        this.cycleDetector = new CycleDetector();
     }
 
     private List<Card> createDeck() {
-        List<Card> deck = new ArrayList<>();
-        for (Suit suit : Suit.values()) {
-            for (int rank = 1; rank <= 10; rank++) {
-                deck.add(new Card(rank, suit));
-            }
+        List<Card> deck = new ArrayList<>(Card.DECK_SIZE);
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            deck.add(Card.fromOrdinal(ordinal));
         }
         return deck;
     }
@@ -50,7 +74,11 @@ public class Game {
     }
 
     public List<Card> getTableCards() {
-        return new ArrayList<>(tableCards);
+        return new ArrayList<>(tableCardsView);
+    }
+
+    public int getTableSize() {
+        return tableCards.size();
     }
 
     public int getCurrentPlayerIndex() {
@@ -66,35 +94,119 @@ public class Game {
         return cardsToPlay;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Successful playCard calls, including the one that finds the current player out of cards
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // What changed after the given version, or null when that history is no longer available
+    public List<GameEvent> getEventsSince(long sinceVersion) {
+        return events.since(sinceVersion);
+    }
+
+    public int getOpenSeats() {
+        return SEATS - claimedSeats.get();
+    }
+
+    // Reserves a seat before joining, from any thread; false once both seats are taken or claimed
+    public boolean claimSeat() {
+        int claimed;
+        do {
+            claimed = claimedSeats.get();
+            if (claimed >= SEATS) {
+                return false;
+            }
+        } while (!claimedSeats.compareAndSet(claimed, claimed + 1));
+        return true;
+    }
+
+    // Gives back a claimed seat whose join did not go through; called on the game's thread
+    public void releaseSeat() {
+        claimedSeats.updateAndGet(claimed -> Math.max(claimed - 1, players.size()));
+    }
+
     public Player getLastWinningPlayer() {
         return lastWinningPlayer;
     }
 
+    // Length of the repeating cycle that ended the game in DRAW_CYCLE, 0 otherwise
+    public int getCycleLength() {
+        return cycleDetector.getCycleLength();
+    }
+
+    List<Card> tableCardsView() {
+        return tableCardsView;
+    }
+
+    long stateHash() {
+        Player first = players.get(0);
+        Player second = players.get(1);
+        int lastWinningIndex = lastWinningPlayer == null ? -1 : lastWinningPlayer == first ? 0 : 1;
+        return CycleDetector.stateHash(first.deckHash(), second.deckHash(), tableCards.hash(),
+                currentPlayerIndex, cardsToPlay, lastWinningIndex);
+    }
+
+    // Replaces the whole game state; used by GameCodec to rebuild a decoded game
+    void restore(List<Player> restoredPlayers, List<Card> restoredTableCards, GameState restoredState,
+                 int restoredCurrentPlayerIndex, int restoredCardsToPlay, Player restoredLastWinningPlayer) {
+        players.clear();
+        players.addAll(restoredPlayers);
+        claimedSeats.set(players.size());
+        tableCards.clear();
+        tableCards.addAll(restoredTableCards);
+        if (players.size() == 2) {
+            deck.clear(); // The deck is handed out as soon as the second player joins
+        }
+        state = restoredState;
+        currentPlayerIndex = restoredCurrentPlayerIndex;
+        cardsToPlay = restoredCardsToPlay;
+        lastWinningPlayer = restoredLastWinningPlayer;
+        cycleDetector = new CycleDetector();
+        if (state == GameState.PLAYING) {
+            cycleDetector.step(stateHash());
+        }
+    }
+
     public boolean addPlayer(Player player) {
-        if (players.size() >= 2) {
+        if (players.size() >= SEATS) {
             return false; // Only 2 players allowed
         }
         players.add(player);
-        if (players.size() == 2) {
+        claimedSeats.accumulateAndGet(players.size(), Math::max); // Joins without a claim, as in a replay
+        version++;
+        if (players.size() == SEATS) {
             state = GameState.DEALING;
             dealCards();
             state = GameState.PLAYING;
+            cycleDetector.step(stateHash());
         }
+        recordEvent(GameEvent.Type.PLAYER_JOINED, players.size() - 1, 0, -1, 0);
         return true;
     }
 
     private void dealCards() {
         // Shuffle the deck
-        Collections.shuffle(deck);
+        byte[] order = Deal.shuffledOrdinals(seed);
+        for (int i = 0; i < order.length; i++) {
+            deck.set(i, Card.fromOrdinal(order[i]));
+        }
         
         // Deal cards equally to players (20 each)
         int cardsPerPlayer = deck.size() / players.size();
         for (int i = 0; i < players.size(); i++) {
-            List<Card> playerCards = new ArrayList<>();
-            for (int j = 0; j < cardsPerPlayer; j++) {
-                playerCards.add(deck.get(i * cardsPerPlayer + j));
-            }
-            players.get(i).addCardsToDeck(playerCards);
+            players.get(i).addCardsToDeck(deck.subList(i * cardsPerPlayer, (i + 1) * cardsPerPlayer));
         }
         
         // Clear the deck after dealing
@@ -102,67 +214,140 @@ public class Game {
     }
 
     public boolean playCard(String playerId) {
-        logger.info("Attempting to play card for player: {}", playerId);
+        logger.debug("Attempting to play card for player: {}", playerId);
         
         if (state != GameState.PLAYING) {
-            logger.warn("Cannot play card - game is not in PLAYING state. Current state: {}", state);
+            // A rejected move is the client's mistake, answered with 400: not worth a warning per request
+            logger.debug("Cannot play card - game is not in PLAYING state. Current state: {}", state);
             return false;
         }
 
         Player currentPlayer = getCurrentPlayer();
         if (!currentPlayer.getId().equals(playerId)) {
-            logger.warn("Invalid player turn. Expected: {}, Actual: {}", currentPlayer.getId(), playerId);
+            logger.debug("Invalid player turn. Expected: {}, Actual: {}", currentPlayer.getId(), playerId);
             return false;
         }
 
+        version++;
+        moveCount++;
+        int playerIndex = currentPlayerIndex;
         if (!currentPlayer.hasCards()) {
-            logger.info("Player {} has no cards left. Game finished.", playerId);
+            logger.debug("Player {} has no cards left. Game finished.", playerId);
             state = GameState.FINISHED;
+            recordEvent(GameEvent.Type.OUT_OF_CARDS, playerIndex, 0, -1, 0);
+            emitGameFinished();
             return true;
         }
 
         // Get the top card from the player's deck (index 0)
         Card playedCard = currentPlayer.drawCard();
-        logger.info("Player {} played card: {}", playerId, playedCard);
+        logger.debug("Player {} played card: {}", playerId, playedCard);
         // Add the card to the table
-        tableCards.add(playedCard);
+        tableCards.addLast(playedCard.getOrdinal());
+        emitCardPlayed(playerIndex, playedCard);
 
+        int capturedBy = -1;
+        int capturedCount = 0;
         // Check if it's a winning card
         if (playedCard.isWinningCard()) {
-            logger.info("Winning card played! Player {} must play {} cards", 
+            logger.debug("Winning card played! Player {} must play {} cards", 
                 getCurrentPlayer().getId(), playedCard.getCardsToPlay());
             lastWinningPlayer = currentPlayer;
             cardsToPlay = playedCard.getCardsToPlay();
+            emitPenaltyStarted(playerIndex, playedCard);
             nextPlayer();
         } else if (cardsToPlay > 0) {
             // Player is obligated to play cards
             cardsToPlay--;
-            logger.info("Obligatory card played. Remaining cards to play: {}", cardsToPlay);
+            logger.debug("Obligatory card played. Remaining cards to play: {}", cardsToPlay);
             if (cardsToPlay == 0) {
                 // Player completed their obligation, capture the table cards
                 if (lastWinningPlayer != null) {
                     int capturedCards = tableCards.size();
-                    lastWinningPlayer.captureCards(new ArrayList<>(tableCards));
-                    logger.info("Player {} captured {} cards", lastWinningPlayer.getId(), capturedCards);
+                    lastWinningPlayer.captureCards(tableCardsView);
+                    logger.debug("Player {} captured {} cards", lastWinningPlayer.getId(), capturedCards);
                     tableCards.clear();
+                    capturedBy = lastWinningPlayer == players.get(0) ? 0 : 1;
+                    capturedCount = capturedCards;
+                    emitPileCaptured(capturedBy, capturedCards);
                 }
                 lastWinningPlayer = null;
                 nextPlayer();
             }
         } else {
             // Normal play, just move to next player
-            logger.info("Normal card played. Moving to next player");
+            logger.debug("Normal card played. Moving to next player");
             nextPlayer();
         }
 
         // Check if game is finished
         checkGameEnd();
-        logger.info("Current game state - Table cards: {}, Current player: {}, Cards to play: {}", 
-            tableCards.size(), getCurrentPlayer().getId(), cardsToPlay);
+        if (state == GameState.PLAYING && cycleDetector.step(stateHash())) {
+            // No player choices: a repeated state means the game would loop forever
+            state = GameState.DRAW_CYCLE;
+            logger.info("Game {} drawn: state repeats every {} moves", id, cycleDetector.getCycleLength());
+        }
+        recordEvent(GameEvent.Type.CARD_PLAYED, playerIndex, playedCard.getOrdinal(), capturedBy, capturedCount);
+        if (state.isTerminal()) {
+            emitGameFinished();
+        }
+        logger.debug("Current game state - Table cards: {}, Current player: {}, Cards to play: {}", 
+            tableCards.size(), currentPlayerIndex, cardsToPlay);
 
         return true;
     }
 
+    private void recordEvent(GameEvent.Type type, int playerIndex, int cardOrdinal, int capturedBy, int capturedCount) {
+        events.append(version, GameEvent.pack(type, playerIndex, cardOrdinal, capturedBy, capturedCount,
+                currentPlayerIndex, cardsToPlay, state));
+    }
+
+    // Flight recorder events: the small event object is always allocated, but the field stores (and the
+    // card name lookups) and the commit only happen when a recording enables the event
+    private void emitCardPlayed(int playerIndex, Card card) {
+        CardPlayedEvent event = new CardPlayedEvent();
+        if (event.shouldCommit()) {
+            event.gameId = id;
+            event.playerIndex = playerIndex;
+            event.card = card.getDisplayName();
+            event.tableSize = tableCards.size();
+            event.version = version;
+            event.commit();
+        }
+    }
+
+    private void emitPenaltyStarted(int playerIndex, Card card) {
+        PenaltyStartedEvent event = new PenaltyStartedEvent();
+        if (event.shouldCommit()) {
+            event.gameId = id;
+            event.playerIndex = playerIndex;
+            event.card = card.getDisplayName();
+            event.cardsToPlay = card.getCardsToPlay();
+            event.commit();
+        }
+    }
+
+    private void emitPileCaptured(int playerIndex, int cardCount) {
+        PileCapturedEvent event = new PileCapturedEvent();
+        if (event.shouldCommit()) {
+            event.gameId = id;
+            event.playerIndex = playerIndex;
+            event.cardCount = cardCount;
+            event.commit();
+        }
+    }
+
+    private void emitGameFinished() {
+        GameFinishedEvent event = new GameFinishedEvent();
+        if (event.shouldCommit()) {
+            event.gameId = id;
+            event.state = state.name();
+            event.moves = moveCount;
+            event.cycleLength = cycleDetector.getCycleLength();
+            event.commit();
+        }
+    }
+
     private void nextPlayer() {
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
     }
@@ -205,7 +390,7 @@ public class Game {
     }
 
     public boolean isGameFinished() {
-        return state == GameState.FINISHED;
+        return state.isTerminal();
     }
 
     @Override
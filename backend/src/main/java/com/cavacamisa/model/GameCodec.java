@@ -0,0 +1,187 @@
+package com.cavacamisa.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of a game's state.
+ *
+ * Layout: format byte, header byte (players:2 | current player:1 | cards to play:2 | state:3),
+ * last winning player (index + 1, 0 for none), one size byte per player deck and one for the
+ * table, then every card ordinal packed in 6 bits (player decks top first, then the table).
+ * A dealt game takes 36 bytes.
+ *
+ * Only the board is encoded. Player identities, the seed, the version, the move count, the
+ * creation time and the event and cycle history are not: a decoded game gets a fresh seed and
+ * creation time, starts again from version 0 and has no history.
+ */
+public final class GameCodec {
+    public static final int FORMAT_VERSION = 1;
+    private static final int CARD_BITS = 6;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+    private static final int FIXED_HEADER_SIZE = 3;
+    private static final GameState[] STATES = GameState.values();
+
+    private GameCodec() {
+    }
+
+    public static byte[] encode(Game game) {
+        List<Player> players = game.getPlayers();
+        List<Card> table = game.tableCardsView();
+        int cardCount = table.size();
+        for (Player player : players) {
+            cardCount += player.getDeckSize();
+        }
+
+        int length = FIXED_HEADER_SIZE + players.size() + 1 + (cardCount * CARD_BITS + 7) / 8;
+        byte[] out = new byte[length];
+        out[0] = FORMAT_VERSION;
+        out[1] = (byte) (players.size()
+                | game.getCurrentPlayerIndex() << 2
+                | game.getCardsToPlay() << 3
+                | game.getState().ordinal() << 5);
+        out[2] = (byte) (players.indexOf(game.getLastWinningPlayer()) + 1);
+
+        int pos = FIXED_HEADER_SIZE;
+        for (Player player : players) {
+            out[pos++] = (byte) player.getDeckSize();
+        }
+        out[pos++] = (byte) table.size();
+
+        BitWriter writer = new BitWriter(out, pos);
+        for (Player player : players) {
+            for (int i = 0, n = player.getDeckSize(); i < n; i++) {
+                writer.write(player.getCardOrdinal(i));
+            }
+        }
+        for (int i = 0, n = table.size(); i < n; i++) {
+            writer.write(table.get(i).getOrdinal());
+        }
+        writer.flush();
+        return out;
+    }
+
+    /**
+     * Rebuilds a game from {@link #encode(Game)} output. The given players take the encoded seats
+     * in order and their decks are replaced by the encoded ones.
+     *
+     * @throws IllegalArgumentException if the data is truncated or not a valid encoding; the
+     *         players are left untouched in that case
+     */
+    public static Game decode(byte[] data, String gameId, List<Player> players) {
+        if (data.length < FIXED_HEADER_SIZE || data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported game encoding");
+        }
+        int header = data[1] & 0xFF;
+        int playerCount = header & 0x3;
+        if (players.size() != playerCount) {
+            throw new IllegalArgumentException("Encoded game has " + playerCount + " players, got " + players.size());
+        }
+        int currentPlayerIndex = (header >>> 2) & 0x1;
+        int cardsToPlay = (header >>> 3) & 0x3;
+        int stateOrdinal = header >>> 5;
+        int lastWinningIndex = data[2] - 1;
+        if (stateOrdinal >= STATES.length || currentPlayerIndex >= Math.max(playerCount, 1)
+                || lastWinningIndex < -1 || lastWinningIndex >= playerCount) {
+            throw new IllegalArgumentException("Corrupt game encoding header");
+        }
+        GameState state = STATES[stateOrdinal];
+
+        int pos = FIXED_HEADER_SIZE;
+        if (data.length < pos + playerCount + 1) {
+            throw new IllegalArgumentException("Truncated game encoding: " + data.length + " bytes");
+        }
+        int[] deckSizes = new int[playerCount];
+        int cardCount = 0;
+        for (int i = 0; i < playerCount; i++) {
+            deckSizes[i] = data[pos++] & 0xFF;
+            cardCount += deckSizes[i];
+        }
+        int tableSize = data[pos++] & 0xFF;
+        cardCount += tableSize;
+        if (cardCount > Card.DECK_SIZE || data.length != pos + (cardCount * CARD_BITS + 7) / 8) {
+            throw new IllegalArgumentException("Game encoding of " + data.length + " bytes does not hold "
+                    + cardCount + " cards");
+        }
+
+        // Every ordinal is checked before any player deck is replaced
+        byte[] ordinals = new byte[cardCount];
+        BitReader reader = new BitReader(data, pos);
+        for (int i = 0; i < cardCount; i++) {
+            int ordinal = reader.read();
+            if (ordinal >= Card.DECK_SIZE) {
+                throw new IllegalArgumentException("Invalid card ordinal in game encoding: " + ordinal);
+            }
+            ordinals[i] = (byte) ordinal;
+        }
+
+        int next = 0;
+        for (int i = 0; i < playerCount; i++) {
+            Player player = players.get(i);
+            player.clearDeck();
+            for (int j = 0; j < deckSizes[i]; j++) {
+                player.addCardToDeck(Card.fromOrdinal(ordinals[next++]));
+            }
+        }
+        List<Card> table = new ArrayList<>(tableSize);
+        for (int i = 0; i < tableSize; i++) {
+            table.add(Card.fromOrdinal(ordinals[next++]));
+        }
+
+        Game game = new Game(gameId);
+        game.restore(players, table, state, currentPlayerIndex, cardsToPlay,
+                lastWinningIndex >= 0 ? players.get(lastWinningIndex) : null);
+        return game;
+    }
+
+    private static final class BitWriter {
+        private final byte[] out;
+        private int pos;
+        private int acc;
+        private int bits;
+
+        BitWriter(byte[] out, int pos) {
+            this.out = out;
+            this.pos = pos;
+        }
+
+        void write(int ordinal) {
+            acc = (acc << CARD_BITS) | (ordinal & CARD_MASK);
+            bits += CARD_BITS;
+            if (bits >= 8) {
+                bits -= 8;
+                out[pos++] = (byte) (acc >>> bits);
+                acc &= (1 << bits) - 1;
+            }
+        }
+
+        void flush() {
+            if (bits > 0) {
+                out[pos] = (byte) (acc << (8 - bits));
+            }
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] in;
+        private int pos;
+        private int acc;
+        private int bits;
+
+        BitReader(byte[] in, int pos) {
+            this.in = in;
+            this.pos = pos;
+        }
+
+        int read() {
+            if (bits < CARD_BITS) {
+                acc = (acc << 8) | (in[pos++] & 0xFF);
+                bits += 8;
+            }
+            bits -= CARD_BITS;
+            int ordinal = (acc >>> bits) & CARD_MASK;
+            acc &= (1 << bits) - 1;
+            return ordinal;
+        }
+    }
+}
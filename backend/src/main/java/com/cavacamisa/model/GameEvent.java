@@ -0,0 +1,92 @@
+package com.cavacamisa.model;
+
+/**
+ * What changed in one game version. Games keep their recent events packed into longs
+ * (see {@link GameEventLog}); this class is the decoded form.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        PLAYER_JOINED, // Seat taken; the second join also deals the cards
+        CARD_PLAYED,
+        OUT_OF_CARDS // The player on turn had no cards, which ends the game
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final GameState[] STATES = GameState.values();
+
+    private final long version;
+    private final Type type;
+    private final int playerIndex;
+    private final Card card; // null unless CARD_PLAYED
+    private final int capturedBy; // -1 when the move captured nothing
+    private final int capturedCount;
+    private final int currentPlayerIndex;
+    private final int cardsToPlay;
+    private final GameState state;
+
+    private GameEvent(long version, long packed) {
+        this.version = version;
+        this.type = TYPES[(int) (packed & 0x7)];
+        this.playerIndex = (int) (packed >>> 3) & 0x1;
+        this.card = type == Type.CARD_PLAYED ? Card.fromOrdinal((int) (packed >>> 4) & 0x3F) : null;
+        this.capturedCount = (int) (packed >>> 10) & 0x7F;
+        this.capturedBy = capturedCount == 0 ? -1 : (int) (packed >>> 17) & 0x1;
+        this.currentPlayerIndex = (int) (packed >>> 18) & 0x1;
+        this.cardsToPlay = (int) (packed >>> 19) & 0x3;
+        this.state = STATES[(int) (packed >>> 21) & 0x7];
+    }
+
+    // Layout: type:3 | player:1 | card:6 | captured count:7 | captured by:1 | current player:1 | cards to play:2 | state:3
+    static long pack(Type type, int playerIndex, int cardOrdinal, int capturedBy, int capturedCount,
+                     int currentPlayerIndex, int cardsToPlay, GameState state) {
+        return type.ordinal()
+                | (long) playerIndex << 3
+                | (long) (cardOrdinal & 0x3F) << 4
+                | (long) capturedCount << 10
+                | (long) (capturedBy & 0x1) << 17
+                | (long) currentPlayerIndex << 18
+                | (long) cardsToPlay << 19
+                | (long) state.ordinal() << 21;
+    }
+
+    static GameEvent unpack(long version, long packed) {
+        return new GameEvent(version, packed);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+    public int getCapturedBy() {
+        return capturedBy;
+    }
+
+    public int getCapturedCount() {
+        return capturedCount;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public int getCardsToPlay() {
+        return cardsToPlay;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+}
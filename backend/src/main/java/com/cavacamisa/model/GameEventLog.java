@@ -0,0 +1,45 @@
+package com.cavacamisa.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded history of the most recent game events, one packed long per version.
+ */
+public final class GameEventLog {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final long[] events;
+    private long lastVersion; // Version of the newest event, 0 when empty
+    private int size;
+
+    public GameEventLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameEventLog(int capacity) {
+        this.events = new long[capacity];
+    }
+
+    // Versions must be appended in order without gaps
+    void append(long version, long packedEvent) {
+        events[(int) (version % events.length)] = packedEvent;
+        lastVersion = version;
+        size = Math.min(size + 1, events.length);
+    }
+
+    /**
+     * Events after {@code sinceVersion} up to the newest one, or null when some of them are no
+     * longer retained (or {@code sinceVersion} is in the future).
+     */
+    public List<GameEvent> since(long sinceVersion) {
+        if (sinceVersion > lastVersion || sinceVersion < lastVersion - size) {
+            return null;
+        }
+        List<GameEvent> result = new ArrayList<>((int) (lastVersion - sinceVersion));
+        for (long version = sinceVersion + 1; version <= lastVersion; version++) {
+            result.add(GameEvent.unpack(version, events[(int) (version % events.length)]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cavacamisa.model;
+
+import java.util.List;
+
+/**
+ * Everything needed to rebuild a game exactly: the rules are deterministic once the deal is fixed,
+ * so the seed, the number of moves and the version (as a check) stand in for the full history.
+ */
+public final class GameReplay {
+    private final long seed;
+    private final long version;
+    private final int moveCount;
+
+    public GameReplay(long seed, long version, int moveCount) {
+        this.seed = seed;
+        this.version = version;
+        this.moveCount = moveCount;
+    }
+
+    public static GameReplay of(Game game) {
+        return new GameReplay(game.getSeed(), game.getVersion(), game.getMoveCount());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Replays the game with fresh players taking the recorded seats in join order.
+     */
+    public Game replay(String gameId, List<Player> players) {
+        Game game = new Game(gameId, seed);
+        for (Player player : players) {
+            game.addPlayer(player);
+        }
+        for (int move = 0; move < moveCount; move++) {
+            if (!game.playCard(game.getCurrentPlayer().getId())) {
+                throw new IllegalStateException("Replay stopped at move " + move + " in state " + game.getState());
+            }
+        }
+        if (game.getVersion() != version) {
+            throw new IllegalStateException("Replay reached version " + game.getVersion() + ", expected " + version);
+        }
+        return game;
+    }
+
+    @Override
+    public String toString() {
+        return "GameReplay{seed=" + seed + ", version=" + version + ", moveCount=" + moveCount + '}';
+    }
+}
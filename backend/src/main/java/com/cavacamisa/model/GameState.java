@@ -4,7 +4,8 @@ public enum GameState {
     WAITING_FOR_PLAYERS("Waiting for players"),
     DEALING("Dealing cards"),
     PLAYING("Game in progress"),
-    FINISHED("Game finished");
+    FINISHED("Game finished"),
+    DRAW_CYCLE("Game drawn by repetition");
 
     private final String displayName;
 
@@ -15,4 +16,8 @@ public enum GameState {
     public String getDisplayName() {
         return displayName;
     }
+
+    public boolean isTerminal() {
+        return this == FINISHED || this == DRAW_CYCLE;
+    }
 }
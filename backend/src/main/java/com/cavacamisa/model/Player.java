@@ -6,12 +6,14 @@ import java.util.List;
 public class Player {
     private final String id;
     private final String name;
-    private final List<Card> deck; // Cards in hand
+    private final CardRing deck; // Cards in hand, top of the deck first
+    private final List<Card> deckView;
 
     public Player(String id, String name) {
         this.id = id;
         this.name = name;
-        this.deck = new ArrayList<Card>(); // Specify type parameter
+        this.deck = new CardRing();
+        this.deckView = deck.asList();
     }
 
     public String getId() {
@@ -23,7 +25,17 @@ public class Player {
     }
 
     public List<Card> getDeck() {
-        return new ArrayList<>(deck);
+        return new ArrayList<>(deckView);
+    }
+
+    // Read-only live view of the deck, for callers that only iterate it
+    public List<Card> getDeckView() {
+        return deckView;
+    }
+
+    // Ordinal of the card at the given position, 0 being the top of the deck
+    public int getCardOrdinal(int index) {
+        return deck.get(index);
     }
 
 
@@ -36,10 +48,8 @@ public class Player {
     }
 
     public Card drawCard() {
-        if (deck.isEmpty()) {
-            return null;
-        }
-        return deck.remove(0);
+        int ordinal = deck.pollFirst();
+        return ordinal < 0 ? null : Card.fromOrdinal(ordinal);
     }
 
     public void addCardsToDeck(List<Card> cards) {
@@ -51,8 +61,16 @@ public class Player {
         deck.addAll(cards);
     }
 
+    long deckHash() {
+        return deck.hash();
+    }
+
+    void clearDeck() {
+        deck.clear();
+    }
+
     public void addCardToDeck(Card card) {
-        deck.add(card);
+        deck.addLast(card.getOrdinal());
     }
 
     public boolean isWinner() {
@@ -6,6 +6,10 @@ public enum Suit {
     ORI("Ori"),
     COPPE("Coppe");
 
+    // Cached copy of values(): the implicit method clones the array on every call
+    static final Suit[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
     private final String displayName;
 
     Suit(String displayName) {
@@ -15,4 +19,8 @@ public enum Suit {
     public String getDisplayName() {
         return displayName;
     }
+
+    public static Suit fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 }
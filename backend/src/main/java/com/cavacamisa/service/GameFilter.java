@@ -0,0 +1,51 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameSummaryDto;
+import com.cavacamisa.model.GameState;
+
+import java.time.Instant;
+
+/**
+ * Game list criteria; null fields match everything. Creation time bounds are exclusive.
+ */
+public class GameFilter {
+    private final GameState state;
+    private final String playerId;
+    private final Instant createdAfter;
+    private final Instant createdBefore;
+
+    public GameFilter(GameState state, String playerId, Instant createdAfter, Instant createdBefore) {
+        this.state = state;
+        this.playerId = playerId;
+        this.createdAfter = createdAfter;
+        this.createdBefore = createdBefore;
+    }
+
+    public static GameFilter all() {
+        return new GameFilter(null, null, null, null);
+    }
+
+    public Instant getCreatedAfter() {
+        return createdAfter;
+    }
+
+    public Instant getCreatedBefore() {
+        return createdBefore;
+    }
+
+    // Creation bounds are applied by the listing's range, this checks the rest
+    boolean matches(GameSummaryDto summary) {
+        if (state != null && !state.name().equals(summary.getState())) {
+            return false;
+        }
+        if (playerId != null) {
+            for (GameSummaryDto.Seat seat : summary.getPlayers()) {
+                if (playerId.equals(seat.getId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+}
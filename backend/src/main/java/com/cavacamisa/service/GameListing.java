@@ -0,0 +1,134 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GamePageDto;
+import com.cavacamisa.dto.GameSummaryDto;
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.GameState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Summaries of the live games in creation order, for paging and streaming the game list.
+ *
+ * A summary is replaced on the game's shard whenever the seating or the state changes, so listing
+ * reads immutable snapshots and never waits on a shard. A cursor is the position of the last game
+ * returned: games created or removed meanwhile do not shift the following pages.
+ *
+ * Games still waiting with a seat nobody has claimed are indexed again in the lobby, so listing
+ * the joinable games costs a page, not a scan of every game.
+ */
+class GameListing {
+    private final ConcurrentNavigableMap<Key, GameSummaryDto> summaries = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Key, GameSummaryDto> lobby = new ConcurrentSkipListMap<>();
+
+    void put(Game game) {
+        Key key = new Key(game.getCreatedAt(), game.getId());
+        GameSummaryDto summary = new GameSummaryDto(game);
+        summaries.put(key, summary);
+        if (isOpen(game)) {
+            lobby.put(key, summary);
+        } else {
+            lobby.remove(key);
+        }
+    }
+
+    // Called right after a seat claim, off the game's thread, so a full game leaves the lobby at once
+    void seatClaimed(Game game) {
+        if (!isOpen(game)) {
+            lobby.remove(new Key(game.getCreatedAt(), game.getId()));
+        }
+    }
+
+    void remove(Game game) {
+        Key key = new Key(game.getCreatedAt(), game.getId());
+        summaries.remove(key);
+        lobby.remove(key);
+    }
+
+    int size() {
+        return summaries.size();
+    }
+
+    GamePageDto page(GameFilter filter, String cursor, int limit) {
+        return page(stream(filter, cursor).iterator(), limit);
+    }
+
+    GamePageDto openPage(String cursor, int limit) {
+        ConcurrentNavigableMap<Key, GameSummaryDto> range = cursor != null ? lobby.tailMap(decode(cursor), false) : lobby;
+        return page(range.values().iterator(), limit);
+    }
+
+    private static GamePageDto page(Iterator<GameSummaryDto> matches, int limit) {
+        List<GameSummaryDto> games = new ArrayList<>(Math.min(limit, 64));
+        while (games.size() < limit && matches.hasNext()) {
+            games.add(matches.next());
+        }
+        // Only hand out a cursor when another match exists, so the last page is recognizable
+        String nextCursor = matches.hasNext() ? cursorOf(games.get(games.size() - 1)) : null;
+        return new GamePageDto(games, nextCursor);
+    }
+
+    // Lazy and weakly consistent: memory does not grow with the number of games
+    Stream<GameSummaryDto> stream(GameFilter filter, String cursor) {
+        Key from = cursor != null ? decode(cursor) : null;
+        boolean fromInclusive = false;
+        if (filter.getCreatedAfter() != null) {
+            Key after = new Key(filter.getCreatedAfter().toEpochMilli() + 1, "");
+            if (from == null || after.compareTo(from) > 0) {
+                from = after;
+                fromInclusive = true;
+            }
+        }
+        Key to = filter.getCreatedBefore() != null ? new Key(filter.getCreatedBefore().toEpochMilli(), "") : null;
+
+        ConcurrentNavigableMap<Key, GameSummaryDto> range;
+        if (from != null && to != null) {
+            if (from.compareTo(to) >= 0) {
+                return Stream.empty();
+            }
+            range = summaries.subMap(from, fromInclusive, to, false);
+        } else if (from != null) {
+            range = summaries.tailMap(from, fromInclusive);
+        } else if (to != null) {
+            range = summaries.headMap(to, false);
+        } else {
+            range = summaries;
+        }
+        return range.values().stream().filter(filter::matches);
+    }
+
+    private static boolean isOpen(Game game) {
+        return game.getState() == GameState.WAITING_FOR_PLAYERS && game.getOpenSeats() > 0;
+    }
+
+    private static String cursorOf(GameSummaryDto summary) {
+        String position = summary.getCreatedAt().toEpochMilli() + "/" + summary.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('/');
+            return new Key(Long.parseLong(position.substring(0, separator)), position.substring(separator + 1));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalStateException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Creation time first, game id to order games created in the same millisecond
+    private record Key(long createdAt, String gameId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(createdAt, other.createdAt);
+            return byTime != 0 ? byTime : gameId.compareTo(other.gameId);
+        }
+    }
+}
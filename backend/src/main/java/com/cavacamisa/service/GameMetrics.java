@@ -0,0 +1,147 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.GameState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Game service meters: operation counters, live games by state, registered players, the average
+ * table pile and the length of finished games.
+ *
+ * The population gauges are kept up to date from the transitions the service reports on each
+ * game's shard, so a scrape reads a handful of adders instead of walking every game.
+ */
+class GameMetrics {
+    private static final GameState[] STATES = GameState.values();
+
+    private final Counter gamesCreated;
+    private final Counter playersJoined;
+    private final Counter cardsPlayed;
+    private final Counter[] gamesFinished = new Counter[STATES.length];
+    private final Counter[] gamesEvicted = new Counter[STATES.length];
+    private final Counter playersEvicted;
+    private final DistributionSummary gameLength;
+    private final LongAdder[] gamesByState = new LongAdder[STATES.length];
+    private final LongAdder tableCards = new LongAdder(); // Cards on the table of games in progress
+
+    GameMetrics(MeterRegistry registry, Map<String, ?> players) {
+        this.gamesCreated = Counter.builder("cavacamisa.games.created").register(registry);
+        this.playersJoined = Counter.builder("cavacamisa.games.joined")
+                .description("Players seated in a game").register(registry);
+        this.cardsPlayed = Counter.builder("cavacamisa.moves").description("Cards played").register(registry);
+        this.playersEvicted = registry.counter("cavacamisa.players.evicted");
+        Counter waitingEvicted = registry.counter("cavacamisa.games.evicted", "state", "waiting");
+        Counter playingEvicted = registry.counter("cavacamisa.games.evicted", "state", "playing");
+        Counter finishedEvicted = registry.counter("cavacamisa.games.evicted", "state", "finished");
+        for (GameState state : STATES) {
+            int i = state.ordinal();
+            gamesByState[i] = new LongAdder();
+            Gauge.builder("cavacamisa.games.state", gamesByState[i], LongAdder::sum)
+                    .tag("state", tagOf(state))
+                    .description("Live games in each state")
+                    .register(registry);
+            if (state.isTerminal()) {
+                gamesFinished[i] = registry.counter("cavacamisa.games.finished", "state", tagOf(state));
+                gamesEvicted[i] = finishedEvicted;
+            } else {
+                gamesEvicted[i] = state == GameState.WAITING_FOR_PLAYERS ? waitingEvicted : playingEvicted;
+            }
+        }
+        Gauge.builder("cavacamisa.players", players, Map::size)
+                .description("Registered players, seated or not")
+                .register(registry);
+        Gauge.builder("cavacamisa.table.cards.average", this, GameMetrics::averageTableCards)
+                .description("Average table pile of the games in progress")
+                .baseUnit("cards")
+                .register(registry);
+        this.gameLength = DistributionSummary.builder("cavacamisa.game.length")
+                .description("Moves played by each finished or drawn game")
+                .baseUnit("moves")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .maximumExpectedValue(10_000.0)
+                .register(registry);
+    }
+
+    void gameCreated() {
+        gamesCreated.increment();
+        gamesByState[GameState.WAITING_FOR_PLAYERS.ordinal()].increment();
+    }
+
+    // Called on the game's shard after a successful join
+    void playerJoined(GameState before, Game game) {
+        playersJoined.increment();
+        transition(before, game.getState());
+    }
+
+    // Called on the game's shard after a successful move, with the state and table size before it
+    void cardPlayed(GameState before, int tableBefore, Game game) {
+        cardsPlayed.increment();
+        GameState after = game.getState();
+        if (after == GameState.PLAYING) {
+            tableCards.add(game.getTableSize() - tableBefore);
+            return;
+        }
+        tableCards.add(-tableBefore);
+        transition(before, after);
+        if (after.isTerminal() && !before.isTerminal()) {
+            gamesFinished[after.ordinal()].increment();
+            gameLength.record(game.getMoveCount());
+        }
+    }
+
+    // Called on the game's shard once the game is out of the map
+    void gameRemoved(Game game) {
+        GameState state = game.getState();
+        gamesByState[state.ordinal()].decrement();
+        if (state == GameState.PLAYING) {
+            tableCards.add(-game.getTableSize());
+        }
+    }
+
+    void gameEvicted(GameState state) {
+        gamesEvicted[state.ordinal()].increment();
+    }
+
+    void playerEvicted() {
+        playersEvicted.increment();
+    }
+
+    // Rebuilds the population gauges from scratch, after the journal replay filled the maps directly
+    void recount(Collection<Game> games) {
+        for (LongAdder count : gamesByState) {
+            count.reset();
+        }
+        tableCards.reset();
+        for (Game game : games) {
+            gamesByState[game.getState().ordinal()].increment();
+            if (game.getState() == GameState.PLAYING) {
+                tableCards.add(game.getTableSize());
+            }
+        }
+    }
+
+    private void transition(GameState before, GameState after) {
+        if (before != after) {
+            gamesByState[before.ordinal()].decrement();
+            gamesByState[after.ordinal()].increment();
+        }
+    }
+
+    private double averageTableCards() {
+        long playing = gamesByState[GameState.PLAYING.ordinal()].sum();
+        return playing == 0 ? 0.0 : (double) tableCards.sum() / playing;
+    }
+
+    private static String tagOf(GameState state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Encoded JSON of each game's public snapshot, kept until the game changes.
+ *
+ * Every mutation hands the new snapshot over from the game's shard, which drops the bytes of the
+ * previous version. The first reader of a version encodes it and later readers share that build,
+ * in flight or done, so a game is encoded at most once per version however many clients poll it.
+ */
+@Component
+public class GameResponseCache {
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter misses;
+
+    @Autowired
+    public GameResponseCache(ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.hits = registry.counter("cavacamisa.game.response.cache", "result", "hit");
+        this.coalesced = registry.counter("cavacamisa.game.response.cache", "result", "coalesced");
+        this.misses = registry.counter("cavacamisa.game.response.cache", "result", "miss");
+        registry.gauge("cavacamisa.game.response.cache.size", entries, Map::size);
+    }
+
+    /**
+     * The encoded snapshot of the game. On a miss it encodes the snapshot handed over by the last
+     * mutation, or the one the loader reads when the game has not changed since it was cached.
+     * Each caller gets its own copy of the shared future, so cancelling one read cancels no other.
+     */
+    CompletableFuture<byte[]> get(String gameId, Supplier<CompletableFuture<GameDto>> loader) {
+        while (true) {
+            Entry entry = entries.get(gameId);
+            if (entry != null && entry.bytes != null) {
+                (entry.bytes.isDone() ? hits : coalesced).increment();
+                return entry.bytes.copy();
+            }
+            CompletableFuture<byte[]> build = new CompletableFuture<>();
+            Entry building = entry != null
+                    ? new Entry(entry.version, entry.snapshot, build)
+                    : new Entry(UNKNOWN_VERSION, null, build);
+            boolean won = entry != null ? entries.replace(gameId, entry, building) : entries.putIfAbsent(gameId, building) == null;
+            if (!won) {
+                continue; // Another reader or a mutation got there first
+            }
+            misses.increment();
+            CompletableFuture<GameDto> source = building.snapshot != null
+                    ? CompletableFuture.completedFuture(building.snapshot)
+                    : loader.get();
+            source.thenApply(this::encode).whenComplete((bytes, error) -> {
+                if (error != null) {
+                    entries.remove(gameId, building); // Let the next reader retry
+                    build.completeExceptionally(error);
+                } else {
+                    build.complete(bytes);
+                }
+            });
+            return build.copy();
+        }
+    }
+
+    // Called on the game's shard after each mutation, before the mutating request returns
+    void update(String gameId, long version, GameDto snapshot) {
+        entries.compute(gameId, (id, current) ->
+                current != null && current.version >= version ? current : new Entry(version, snapshot, null));
+    }
+
+    void remove(String gameId) {
+        entries.remove(gameId);
+    }
+
+    private byte[] encode(GameDto snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A version with its snapshot (null until a mutation hands one over) and its bytes (null until read)
+    private record Entry(long version, GameDto snapshot, CompletableFuture<byte[]> bytes) {
+    }
+}
@@ -1,47 +1,310 @@
 package com.cavacamisa.service;
 
+import com.cavacamisa.cluster.ClusterRouter;
+import com.cavacamisa.config.CavacamisaProperties;
 import com.cavacamisa.model.Game;
+import com.cavacamisa.model.GameEvent;
+import com.cavacamisa.model.GameReplay;
+import com.cavacamisa.model.GameState;
 import com.cavacamisa.model.Player;
+import com.cavacamisa.dto.GameDeltaDto;
 import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.dto.GameEventDto;
+import com.cavacamisa.dto.GamePageDto;
+import com.cavacamisa.dto.GameSummaryDto;
+import com.cavacamisa.dto.GameReplayDto;
+import com.cavacamisa.dto.MoveBatchDto;
+import com.cavacamisa.dto.PlayBatchRequest;
 import com.cavacamisa.dto.PlayerDto;
 import com.cavacamisa.dto.CreatePlayerRequest;
 import com.cavacamisa.dto.PlayCardRequest;
+import com.cavacamisa.journal.MoveJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class GameService {
+    private static final Logger logger = LoggerFactory.getLogger(GameService.class);
+    public static final int MAX_PAGE_SIZE = 500;
     private final Map<String, Game> games = new ConcurrentHashMap<>();
     private final Map<String, Player> players = new ConcurrentHashMap<>();
+    // Number of live games each player is seated in; players without an entry are orphaned
+    private final Map<String, Integer> seatCounts = new ConcurrentHashMap<>();
+    private final GameListing listing = new GameListing();
+    // Game objects are not thread-safe: every access to a game runs on its owning shard
+    private final GameShards shards;
+    private final GameUpdateBroadcaster broadcaster;
+    private final boolean deckViewEnabled;
+    private final boolean fastForwardEnabled;
+
+    // Idle eviction: one deadline per game and per orphaned player, reaped by a timing wheel
+    private final boolean evictionEnabled;
+    private final long waitingTtlMillis;
+    private final long playingIdleTtlMillis;
+    private final long finishedTtlMillis;
+    private final long orphanedPlayerTtlMillis;
+    private final TimingWheel<String> gameExpiry;
+    private final TimingWheel<String> playerExpiry;
+    private final ScheduledExecutorService reaper;
+    private final GameMetrics metrics;
+    private final Matchmaker matchmaker;
+    private final GameResponseCache responses;
+    private final ClusterRouter cluster;
+    private final MoveJournal journal; // null when journaling is disabled
+    // Tells a player's home node that this node dropped its adopted copy; set by the cluster client
+    private volatile Consumer<String> adoptedPlayerDropped = playerId -> { };
+
+    public GameService() {
+        this(new CavacamisaProperties(), new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+    }
+
+    public GameService(CavacamisaProperties properties, GameUpdateBroadcaster broadcaster, MeterRegistry registry) {
+        this(properties, broadcaster, registry, new GameResponseCache(new ObjectMapper(), registry));
+    }
+
+    @Autowired
+    public GameService(CavacamisaProperties properties, GameUpdateBroadcaster broadcaster, MeterRegistry registry,
+                       GameResponseCache responses) {
+        this.shards = new GameShards(properties.getShards().getCount(), properties.getShards().isVirtualThreads());
+        this.broadcaster = broadcaster;
+        this.responses = responses;
+        this.cluster = new ClusterRouter(properties.getCluster());
+        this.deckViewEnabled = properties.getDebug().isExposeDecks();
+        this.fastForwardEnabled = properties.getDebug().isFastForward();
+
+        CavacamisaProperties.Eviction eviction = properties.getEviction();
+        this.evictionEnabled = eviction.isEnabled();
+        this.waitingTtlMillis = eviction.getWaitingTtl().toMillis();
+        this.playingIdleTtlMillis = eviction.getPlayingIdleTtl().toMillis();
+        this.finishedTtlMillis = eviction.getFinishedTtl().toMillis();
+        this.orphanedPlayerTtlMillis = eviction.getOrphanedPlayerTtl().toMillis();
+        long tickMillis = eviction.getTick().toMillis();
+        this.gameExpiry = new TimingWheel<>(tickMillis, eviction.getWheelSize(), now());
+        this.playerExpiry = new TimingWheel<>(tickMillis, eviction.getWheelSize(), now());
+
+        this.metrics = new GameMetrics(registry, players);
+        this.matchmaker = new Matchmaker(this::startMatch, players::containsKey, registry);
+
+        // Rebuilds the maps from the journal before the service takes any request
+        this.journal = properties.getJournal().isEnabled() ? openJournal(properties.getJournal()) : null;
+
+        if (evictionEnabled) {
+            this.reaper = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "game-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reaper.scheduleAtFixedRate(this::reap, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.reaper = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        shards.close();
+        if (journal != null) {
+            journal.close();
+        }
+    }
 
     public GameDto createGame() {
-        String gameId = UUID.randomUUID().toString();
-        Game game = new Game(gameId);
+        return new GameDto(addGame(new Game(cluster.newGameId())), false);
+    }
+
+    private Game addGame(Game game) {
+        String gameId = game.getId();
+        if (journal != null) {
+            journal.gameCreated(gameId, game.getSeed(), game.getCreatedAt()); // Replaying the journal deals the same cards
+        }
+        listing.put(game); // Before the game is reachable, so no shard update can be overwritten
         games.put(gameId, game);
-        return new GameDto(game);
+        metrics.gameCreated();
+        touchGame(game);
+        return game;
     }
 
     public GameDto getGame(String gameId) {
+        return await(getGameAsync(gameId));
+    }
+
+    public CompletableFuture<GameDto> getGameAsync(String gameId) {
         Game game = games.get(gameId);
         if (game == null) {
-            throw new IllegalArgumentException("Game not found: " + gameId);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        return shards.submit(gameId, () -> new GameDto(game, false));
+    }
+
+    // Same view as getGameAsync, already encoded as JSON and shared by every reader of this version
+    public CompletableFuture<byte[]> getGameJsonAsync(String gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        CompletableFuture<byte[]> json = responses.get(gameId, () -> shards.submit(gameId, () -> new GameDto(game, false)));
+        if (games.get(gameId) != game) {
+            responses.remove(gameId); // Deleted meanwhile, don't keep its bytes around
+        }
+        return json;
+    }
+
+    public ClusterRouter getCluster() {
+        return cluster;
+    }
+
+    public boolean isDeckViewEnabled() {
+        return deckViewEnabled;
+    }
+
+    // Full view including both decks, for admin/debug use only
+    public CompletableFuture<GameDto> getGameWithDecksAsync(String gameId) {
+        if (!deckViewEnabled) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Deck view is disabled"));
+        }
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        return shards.submit(gameId, () -> new GameDto(game, true));
+    }
+
+    // The seed gives away both decks, so unfinished games only expose it with the debug deck view
+    public CompletableFuture<GameReplayDto> getReplayAsync(String gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
         }
-        return new GameDto(game);
+        return shards.submit(gameId, () -> {
+            if (!game.isGameFinished() && !deckViewEnabled) {
+                throw new IllegalStateException("Replay records are only available for finished games");
+            }
+            return new GameReplayDto(gameId, GameReplay.of(game));
+        });
     }
 
+    public GameDeltaDto getDelta(String gameId, long sinceVersion) {
+        return await(getDeltaAsync(gameId, sinceVersion));
+    }
+
+    public CompletableFuture<GameDeltaDto> getDeltaAsync(String gameId, long sinceVersion) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        return shards.submit(gameId, () -> {
+            List<GameEvent> events = game.getEventsSince(sinceVersion);
+            // Joins change the seating and deal the decks: clients need a full snapshot for those
+            if (events == null || events.stream().anyMatch(event -> event.getType() == GameEvent.Type.PLAYER_JOINED)) {
+                return GameDeltaDto.ofSnapshot(sinceVersion, new GameDto(game, false));
+            }
+            return GameDeltaDto.ofEvents(gameId, sinceVersion, game.getVersion(),
+                    events.stream().map(GameEventDto::new).toList());
+        });
+    }
+
+    // Materializes a snapshot of every game: use listGames or streamGames for anything but small tables
     public List<GameDto> getAllGames() {
-        return games.values().stream()
-                .map(GameDto::new)
+        List<CompletableFuture<GameDto>> snapshots = games.values().stream()
+                .map(game -> shards.submit(game.getId(), () -> new GameDto(game, false)))
+                .toList();
+        return snapshots.stream()
+                .map(GameService::await)
                 .toList();
     }
 
+    // One page of game summaries in creation order, starting after the cursor of the previous page
+    public GamePageDto listGames(GameFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalStateException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return listing.page(filter, cursor, limit);
+    }
+
+    // Games waiting with a free seat, oldest first, read from the lobby index
+    public GamePageDto listOpenGames(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalStateException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return listing.openPage(cursor, limit);
+    }
+
+    // Every matching summary in creation order, produced lazily as the stream is consumed
+    public Stream<GameSummaryDto> streamGames(GameFilter filter, String cursor) {
+        return listing.stream(filter, cursor);
+    }
+
     public PlayerDto createPlayer(CreatePlayerRequest request) {
-        String playerId = UUID.randomUUID().toString();
+        String playerId = cluster.newPlayerId();
         Player player = new Player(playerId, request.getName());
+        if (journal != null) {
+            journal.playerCreated(playerId, player.getName());
+        }
         players.put(playerId, player);
-        return new PlayerDto(player);
+        touchOrphanedPlayer(playerId);
+        return new PlayerDto(player, false);
+    }
+
+    // Registers a player of another node here, under the same id, so it can join this node's games;
+    // false if the player was known here already
+    public boolean adoptPlayer(String playerId, String name) {
+        if (players.containsKey(playerId)) {
+            return false;
+        }
+        Player adopted = new Player(playerId, name);
+        if (players.putIfAbsent(playerId, adopted) != null) {
+            return false;
+        }
+        if (journal != null) {
+            journal.playerCreated(playerId, name);
+        }
+        touchOrphanedPlayer(playerId);
+        return true;
+    }
+
+    /**
+     * Lends a player of this node to another node that adopts it. The loan counts as a seat, so
+     * the player is not evicted here as an orphan while the other node may still seat it; the
+     * loan ends with {@link #returnPlayer(String)}. Loans are not journaled: after a restart this
+     * node falls back to the orphaned-player TTL for them.
+     */
+    public PlayerDto lendPlayer(String playerId) {
+        Player player = players.get(playerId);
+        if (player == null || !seatPlayer(player)) {
+            throw new IllegalArgumentException("Player not found: " + playerId);
+        }
+        return new PlayerDto(player, false);
+    }
+
+    public void returnPlayer(String playerId) {
+        releasePlayer(playerId);
+    }
+
+    public void onAdoptedPlayerDropped(Consumer<String> listener) {
+        this.adoptedPlayerDropped = listener;
     }
 
     public PlayerDto getPlayer(String playerId) {
@@ -49,39 +312,141 @@ public class GameService {
         if (player == null) {
             throw new IllegalArgumentException("Player not found: " + playerId);
         }
-        return new PlayerDto(player);
+        return new PlayerDto(player, false);
     }
 
     public GameDto joinGame(String gameId, String playerId) {
+        return await(joinGameAsync(gameId, playerId));
+    }
+
+    public CompletableFuture<GameDto> joinGameAsync(String gameId, String playerId) {
         Game game = games.get(gameId);
         if (game == null) {
-            throw new IllegalArgumentException("Game not found: " + gameId);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
         }
 
         Player player = players.get(playerId);
         if (player == null) {
-            throw new IllegalArgumentException("Player not found: " + playerId);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Player not found: " + playerId));
         }
 
-        if (!game.addPlayer(player)) {
-            throw new IllegalStateException("Game is full or already started");
+        // Racing joins are settled by the seat claim: the losers fail here without queueing on the shard
+        if (!game.claimSeat()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Game is full or already started"));
         }
+        listing.seatClaimed(game);
 
-        return new GameDto(game);
+        return shards.submit(gameId, () -> {
+            requireLive(game);
+            seat(game, player);
+            return publish(game);
+        });
+    }
+
+    // Queues the player for an opponent; the future completes with the game dealt to both
+    public CompletableFuture<GameDto> enqueueForMatchAsync(String playerId) {
+        if (!players.containsKey(playerId)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Player not found: " + playerId));
+        }
+        return matchmaker.enqueue(playerId);
+    }
+
+    public CompletableFuture<GameDto> getMatchAsync(String playerId) {
+        CompletableFuture<GameDto> match = matchmaker.matchOf(playerId);
+        if (match == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Player not in matchmaking: " + playerId));
+        }
+        return match;
+    }
+
+    public void cancelMatch(String playerId) {
+        if (matchmaker.cancel(playerId)) {
+            return;
+        }
+        if (matchmaker.matchOf(playerId) == null) {
+            throw new IllegalArgumentException("Player not in matchmaking: " + playerId);
+        }
+        throw new IllegalStateException("Player " + playerId + " is no longer waiting");
+    }
+
+    public int getMatchmakingDepth() {
+        return matchmaker.depth();
     }
 
     public GameDto playCard(String gameId, PlayCardRequest request) {
+        return await(playCardAsync(gameId, request));
+    }
+
+    public CompletableFuture<GameDto> playCardAsync(String gameId, PlayCardRequest request) {
         Game game = games.get(gameId);
         if (game == null) {
-            throw new IllegalArgumentException("Game not found: " + gameId);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+
+        return shards.submit(gameId, () -> {
+            requireLive(game);
+            if (!applyMove(game, request.getPlayerId())) {
+                throw new IllegalStateException("Invalid move: not your turn or no cards to play");
+            }
+            touchGame(game);
+            return publish(game);
+        });
+    }
+
+    // Plays the player's cards until the turn passes, a pile is captured, the game ends or maxCards are down
+    public CompletableFuture<MoveBatchDto> playBatchAsync(String gameId, PlayBatchRequest request) {
+        if (request.getMaxCards() < 1 || request.getMaxCards() > PlayBatchRequest.MAX_CARDS) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("maxCards must be between 1 and " + PlayBatchRequest.MAX_CARDS));
+        }
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        return shards.submit(gameId, () -> playMoves(game, request.getPlayerId(), request.getMaxCards()));
+    }
+
+    public boolean isFastForwardEnabled() {
+        return fastForwardEnabled;
+    }
+
+    // Plays both sides until the game finishes or is drawn, for admin and testing use only
+    public CompletableFuture<MoveBatchDto> fastForwardAsync(String gameId) {
+        if (!fastForwardEnabled) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Fast-forward is disabled"));
+        }
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
         }
+        return shards.submit(gameId, () -> {
+            if (game.getState() != GameState.PLAYING) {
+                throw new IllegalStateException("Game is not in progress");
+            }
+            // Terminates: a repeated position ends the game in DRAW_CYCLE
+            return playMoves(game, null, Integer.MAX_VALUE);
+        });
+    }
 
-        boolean success = game.playCard(request.getPlayerId());
-        if (!success) {
-            throw new IllegalStateException("Invalid move: not your turn or no cards to play");
+    // Registers a push subscriber; it first gets the current state unless it has already seen this version
+    public SseEmitter subscribe(String gameId, long lastSeenVersion) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            throw new IllegalArgumentException("Game not found: " + gameId);
         }
+        return await(shards.submit(gameId,
+                () -> broadcaster.subscribe(gameId, game.getVersion(), new GameDto(game, false), lastSeenVersion)));
+    }
 
-        return new GameDto(game);
+    // Non-blocking subscription for other transports; completes with the action that unsubscribes
+    public CompletableFuture<Runnable> subscribeAsync(String gameId, long lastSeenVersion,
+                                                      GameUpdateBroadcaster.UpdateSink sink) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: " + gameId));
+        }
+        return shards.submit(gameId,
+                () -> broadcaster.subscribe(gameId, game.getVersion(), new GameDto(game, false), lastSeenVersion, sink));
     }
 
     public void deleteGame(String gameId) {
@@ -89,6 +454,17 @@ public class GameService {
         if (removed == null) {
             throw new IllegalArgumentException("Game not found: " + gameId);
         }
+        if (journal != null) {
+            journal.gameDeleted(gameId);
+        }
+        gameExpiry.remove(gameId);
+        broadcaster.closeGame(gameId);
+        responses.remove(gameId);
+        shards.submit(gameId, () -> {
+            metrics.gameRemoved(removed);
+            listing.remove(removed);
+            return releasePlayers(removed);
+        });
     }
 
     public void deletePlayer(String playerId) {
@@ -96,6 +472,12 @@ public class GameService {
         if (removed == null) {
             throw new IllegalArgumentException("Player not found: " + playerId);
         }
+        matchmaker.forget(playerId);
+        if (journal != null) {
+            journal.playerDeleted(playerId);
+        }
+        playerExpiry.remove(playerId);
+        dropped(playerId);
     }
 
     public boolean gameExists(String gameId) {
@@ -105,4 +487,369 @@ public class GameService {
     public boolean playerExists(String playerId) {
         return players.containsKey(playerId);
     }
+
+    // Evicts every game and orphaned player whose deadline has passed; completes once the games are gone
+    CompletableFuture<Void> evictExpired(long nowMillis) {
+        // Players first: the ones released by this round's games get a full orphaned-player TTL
+        playerExpiry.advance(nowMillis, this::evictPlayer);
+        List<CompletableFuture<?>> evictions = new ArrayList<>();
+        gameExpiry.advance(nowMillis, gameId -> evictions.add(evictGame(gameId)));
+        return CompletableFuture.allOf(evictions.toArray(CompletableFuture[]::new));
+    }
+
+    static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private void reap() {
+        try {
+            evictExpired(now());
+        } catch (RuntimeException e) {
+            logger.error("Idle game eviction failed", e); // Keep the reaper scheduled
+        }
+    }
+
+    private CompletableFuture<?> evictGame(String gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return shards.submit(gameId, () -> {
+            // A move queued before the expiry ran first and registered a new deadline: not idle after all
+            if (gameExpiry.contains(gameId) || !games.remove(gameId, game)) {
+                return null;
+            }
+            if (journal != null) {
+                journal.gameDeleted(gameId);
+            }
+            broadcaster.closeGame(gameId);
+            responses.remove(gameId);
+            releasePlayers(game);
+            GameState state = game.getState();
+            metrics.gameRemoved(game);
+            metrics.gameEvicted(state);
+            listing.remove(game);
+            logger.debug("Evicted idle game {} in state {}", gameId, state);
+            return null;
+        });
+    }
+
+    private void evictPlayer(String playerId) {
+        if (matchmaker.isWaiting(playerId)) {
+            touchOrphanedPlayer(playerId); // Not orphaned while waiting for an opponent
+            return;
+        }
+        // Decided under the seat count's lock, so a join is either counted first or finds the player gone
+        boolean[] evicted = {false};
+        seatCounts.compute(playerId, (id, count) -> {
+            if (count == null && !playerExpiry.contains(id)) { // Not seated, nor touched again since expiring
+                evicted[0] = players.remove(id) != null;
+            }
+            return count;
+        });
+        if (evicted[0]) {
+            matchmaker.forget(playerId);
+            if (journal != null) {
+                journal.playerDeleted(playerId);
+            }
+            metrics.playerEvicted();
+            logger.debug("Evicted orphaned player {}", playerId);
+            dropped(playerId);
+        }
+    }
+
+    // An adopted player is gone from this node: its home node may evict it again
+    private void dropped(String playerId) {
+        if (!cluster.isSelf(cluster.ownerOf(playerId))) {
+            adoptedPlayerDropped.accept(playerId);
+        }
+    }
+
+    // Runs on the matchmaking drainer: both seats are claimed up front, so the game never shows in the lobby
+    private CompletableFuture<GameDto> startMatch(String firstId, String secondId) {
+        Player first = players.get(firstId);
+        Player second = players.get(secondId);
+        if (first == null || second == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Matched player no longer exists"));
+        }
+        Game game = new Game(cluster.newGameId());
+        game.claimSeat();
+        game.claimSeat();
+        addGame(game);
+        return shards.submit(game.getId(), () -> {
+            requireLive(game);
+            try {
+                seat(game, first);
+                seat(game, second);
+            } catch (RuntimeException e) {
+                discardMatch(game); // A player went away since the lookup: the matchmaker pairs the other again
+                throw e;
+            }
+            return publish(game);
+        });
+    }
+
+    // Runs on the game's shard: removes a match game that could not seat both players
+    private void discardMatch(Game game) {
+        if (!games.remove(game.getId(), game)) {
+            return;
+        }
+        if (journal != null) {
+            journal.gameDeleted(game.getId());
+        }
+        gameExpiry.remove(game.getId());
+        responses.remove(game.getId());
+        releasePlayers(game);
+        metrics.gameRemoved(game);
+        listing.remove(game);
+    }
+
+    // Runs on the game's shard, with a seat already claimed for the player
+    private void seat(Game game, Player player) {
+        GameState before = game.getState();
+        if (!seatPlayer(player)) {
+            game.releaseSeat();
+            listing.put(game);
+            throw new IllegalArgumentException("Player not found: " + player.getId());
+        }
+        if (!game.addPlayer(player)) {
+            releasePlayer(player.getId());
+            game.releaseSeat();
+            listing.put(game);
+            throw new IllegalStateException("Game is full or already started");
+        }
+        if (journal != null) {
+            journal.playerJoined(game.getId(), player.getId());
+        }
+        metrics.playerJoined(before, game);
+        listing.put(game);
+        touchGame(game);
+    }
+
+    // Runs on the game's shard: plays one card and records it, false if the move is not allowed
+    private boolean applyMove(Game game, String playerId) {
+        GameState before = game.getState();
+        int tableBefore = game.getTableSize();
+        if (!game.playCard(playerId)) {
+            return false;
+        }
+        if (journal != null) {
+            journal.cardPlayed(game.getId());
+        }
+        metrics.cardPlayed(before, tableBefore, game);
+        if (game.getState() != before) {
+            listing.put(game);
+        }
+        return true;
+    }
+
+    // Runs on the game's shard; a null playerId plays for whoever is on turn and only stops at the end
+    private MoveBatchDto playMoves(Game game, String playerId, int maxCards) {
+        requireLive(game);
+        long fromVersion = game.getVersion();
+        int played = 0;
+        int captures = 0;
+        MoveBatchDto.StopReason stopReason = MoveBatchDto.StopReason.LIMIT;
+        try {
+            while (played < maxCards) {
+                int turn = game.getCurrentPlayerIndex();
+                int tableBefore = game.getTableSize();
+                if (!applyMove(game, playerId != null ? playerId : game.getCurrentPlayer().getId())) {
+                    throw new IllegalStateException("Invalid move: not your turn or no cards to play");
+                }
+                played++;
+                // Only a capture shrinks the table
+                boolean captured = game.getTableSize() < tableBefore;
+                if (captured) {
+                    captures++;
+                }
+                if (game.isGameFinished()) {
+                    stopReason = MoveBatchDto.StopReason.GAME_OVER;
+                    break;
+                }
+                if (playerId != null && captured) {
+                    stopReason = MoveBatchDto.StopReason.CAPTURE;
+                    break;
+                }
+                if (playerId != null && game.getCurrentPlayerIndex() != turn) {
+                    stopReason = MoveBatchDto.StopReason.TURN_PASSED;
+                    break;
+                }
+            }
+        } finally {
+            // Moves already applied stay applied: subscribers and the cache see them even if a later one threw
+            if (game.getVersion() != fromVersion) {
+                touchGame(game);
+                publish(game); // One push for the whole batch
+            }
+        }
+
+        MoveBatchDto batch = new MoveBatchDto();
+        batch.setGameId(game.getId());
+        batch.setFromVersion(fromVersion);
+        batch.setToVersion(game.getVersion());
+        batch.setCardsPlayed(played);
+        batch.setCaptures(captures);
+        batch.setStopReason(stopReason);
+        batch.setState(game.getState().name());
+        batch.setCurrentPlayerIndex(game.getCurrentPlayerIndex());
+        batch.setCardsToPlay(game.getCardsToPlay());
+        Player winner = game.getWinner();
+        if (winner != null) {
+            batch.setWinnerIndex(game.getPlayers().indexOf(winner));
+        }
+        List<GameEvent> events = game.getEventsSince(fromVersion);
+        if (events != null) {
+            batch.setEvents(events.stream().map(GameEventDto::new).toList());
+        }
+        return batch;
+    }
+
+    // Runs on the game's shard: a task queued before the game was deleted or evicted must not touch it
+    private void requireLive(Game game) {
+        if (games.get(game.getId()) != game) {
+            throw new IllegalArgumentException("Game not found: " + game.getId());
+        }
+    }
+
+    // Counts a seat for the player unless it was evicted or deleted since the request looked it up
+    private boolean seatPlayer(Player player) {
+        String playerId = player.getId();
+        boolean[] seated = {false};
+        seatCounts.compute(playerId, (id, count) -> {
+            if (players.get(id) != player) {
+                return count;
+            }
+            seated[0] = true;
+            return count == null ? 1 : count + 1;
+        });
+        if (seated[0]) {
+            playerExpiry.remove(playerId);
+        }
+        return seated[0];
+    }
+
+    private MoveJournal openJournal(CavacamisaProperties.Journal config) {
+        try {
+            MoveJournal opened = MoveJournal.open(Path.of(config.getDirectory()),
+                    (int) config.getSegmentSize().toBytes(), config.getGroupCommitInterval(),
+                    config.getCompactAfterSegments(), new JournalReplay());
+            metrics.recount(games.values());
+            games.values().forEach(listing::put);
+            logger.info("Journal open in {}: {} games and {} players restored", config.getDirectory(), games.size(), players.size());
+            return opened;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the game journal in " + config.getDirectory(), e);
+        }
+    }
+
+    // Applies journaled mutations straight to the maps; runs in the constructor, before any shard task
+    private class JournalReplay implements MoveJournal.Visitor {
+        @Override
+        public void gameCreated(String gameId, long seed, long createdAt) {
+            Game game = new Game(gameId, seed, createdAt != 0 ? createdAt : System.currentTimeMillis());
+            games.put(gameId, game);
+            touchGame(game);
+        }
+
+        @Override
+        public void playerCreated(String playerId, String name) {
+            players.put(playerId, new Player(playerId, name));
+            touchOrphanedPlayer(playerId);
+        }
+
+        @Override
+        public void playerJoined(String gameId, String playerId) {
+            Game game = games.get(gameId);
+            Player player = players.get(playerId);
+            if (game != null && player != null && game.addPlayer(player)) {
+                seatPlayer(player);
+                touchGame(game);
+            }
+        }
+
+        @Override
+        public void cardPlayed(String gameId) {
+            Game game = games.get(gameId);
+            if (game != null && game.getState() == GameState.PLAYING) {
+                game.playCard(game.getCurrentPlayer().getId());
+                touchGame(game);
+            }
+        }
+
+        @Override
+        public void gameDeleted(String gameId) {
+            Game removed = games.remove(gameId);
+            if (removed != null) {
+                gameExpiry.remove(gameId);
+                releasePlayers(removed);
+            }
+        }
+
+        @Override
+        public void playerDeleted(String playerId) {
+            players.remove(playerId);
+            playerExpiry.remove(playerId);
+        }
+    }
+
+    // Runs on the game's shard once the game is gone: its players may now be orphaned
+    private Void releasePlayers(Game game) {
+        for (Player player : game.getPlayers()) {
+            releasePlayer(player.getId());
+        }
+        return null;
+    }
+
+    private void releasePlayer(String playerId) {
+        if (seatCounts.computeIfPresent(playerId, (id, count) -> count == 1 ? null : count - 1) == null
+                && players.containsKey(playerId)) {
+            touchOrphanedPlayer(playerId);
+        }
+    }
+
+    // Runs on the game's shard after a mutation: the idle deadline restarts with the TTL of the new state
+    private void touchGame(Game game) {
+        if (!evictionEnabled) {
+            return;
+        }
+        GameState state = game.getState();
+        long ttl = state.isTerminal() ? finishedTtlMillis
+                : state == GameState.WAITING_FOR_PLAYERS ? waitingTtlMillis : playingIdleTtlMillis;
+        touch(gameExpiry, game.getId(), now() + ttl);
+    }
+
+    private void touchOrphanedPlayer(String playerId) {
+        if (evictionEnabled) {
+            touch(playerExpiry, playerId, now() + orphanedPlayerTtlMillis);
+        }
+    }
+
+    // A key that expired while this touch was under way is registered again, as soon as the wheel has
+    // let go of the expired entry; the eviction then finds the fresh deadline and keeps the key
+    private static void touch(TimingWheel<String> wheel, String key, long deadlineMillis) {
+        while (!wheel.touch(key, deadlineMillis)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // Runs on the game's shard after a mutation: the snapshot is both the response and the push update
+    private GameDto publish(Game game) {
+        GameDto snapshot = new GameDto(game, false);
+        broadcaster.publish(game.getId(), game.getVersion(), snapshot);
+        responses.update(game.getId(), game.getVersion(), snapshot);
+        return snapshot;
+    }
+
+    // Blocks on a shard result, rethrowing the task's own exception
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
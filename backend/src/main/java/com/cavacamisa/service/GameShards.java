@@ -0,0 +1,58 @@
+package com.cavacamisa.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of single-threaded executors. Every task for a game runs on the shard picked by the
+ * game id hash, so all reads and mutations of one game are serialized without locks.
+ *
+ * Shard threads are platform threads by default; with virtual threads they share the carrier pool
+ * with virtual request threads, so handing a move to its shard needs no OS thread switch.
+ */
+public class GameShards implements AutoCloseable {
+    private final ExecutorService[] executors;
+
+    public GameShards(int count) {
+        this(count, false);
+    }
+
+    public GameShards(int count, boolean virtualThreads) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.executors = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "game-shard-" + i;
+            executors[i] = Executors.newSingleThreadExecutor(virtualThreads ? Thread.ofVirtual().name(name).factory()
+                    : task -> {
+                        Thread thread = new Thread(task, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    public int size() {
+        return executors.length;
+    }
+
+    public int shardOf(String gameId) {
+        int h = gameId.hashCode();
+        h ^= h >>> 16;
+        return Math.floorMod(h, executors.length);
+    }
+
+    public <T> CompletableFuture<T> submit(String gameId, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executors[shardOf(gameId)]);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes game snapshots to Server-Sent Events subscribers.
+ *
+ * publish() is called from the game's shard right after a mutation, so updates for one game arrive
+ * in order. Each subscriber is drained by its own task on a virtual thread: a slow client never
+ * blocks a shard, and it only receives the latest snapshot when it falls behind.
+ */
+@Component
+public class GameUpdateBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(GameUpdateBroadcaster.class);
+    public static final String EVENT_NAME = "game";
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Where a subscriber's updates are written: an SseEmitter on the servlet stack, a reactive
+     * sink on WebFlux. Calls for one subscriber never overlap.
+     */
+    public interface UpdateSink {
+        void send(long sequence, GameDto snapshot) throws IOException;
+
+        void complete();
+
+        void completeWithError(Throwable error);
+    }
+
+    // Must run on the game's shard; the subscriber receives everything published after this call
+    public SseEmitter subscribe(String gameId, long sequence, GameDto snapshot, long lastSeenSequence) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Runnable remove = subscribe(gameId, sequence, snapshot, lastSeenSequence, new UpdateSink() {
+            @Override
+            public void send(long updateSequence, GameDto updateSnapshot) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(updateSequence))
+                        .name(EVENT_NAME)
+                        .data(updateSnapshot, MediaType.APPLICATION_JSON)); // Not whatever converter takes */* first
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+
+            @Override
+            public void completeWithError(Throwable error) {
+                emitter.completeWithError(error);
+            }
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    // Must run on the game's shard; returns the action that removes the subscriber
+    public Runnable subscribe(String gameId, long sequence, GameDto snapshot, long lastSeenSequence, UpdateSink sink) {
+        Subscriber subscriber = new Subscriber(gameId, sink);
+        List<Subscriber> gameSubscribers = subscribers.computeIfAbsent(gameId, id -> new CopyOnWriteArrayList<>());
+        gameSubscribers.add(subscriber);
+
+        // A reconnecting client that already has this sequence gets nothing until the next change
+        if (sequence > lastSeenSequence) {
+            subscriber.offer(new Update(sequence, snapshot));
+        }
+        return () -> unsubscribe(gameId, subscriber);
+    }
+
+    // Must run on the game's shard
+    public void publish(String gameId, long sequence, GameDto snapshot) {
+        List<Subscriber> gameSubscribers = subscribers.get(gameId);
+        if (gameSubscribers == null) {
+            return;
+        }
+        Update update = new Update(sequence, snapshot);
+        for (Subscriber subscriber : gameSubscribers) {
+            subscriber.offer(update);
+        }
+    }
+
+    public boolean hasSubscribers(String gameId) {
+        List<Subscriber> gameSubscribers = subscribers.get(gameId);
+        return gameSubscribers != null && !gameSubscribers.isEmpty();
+    }
+
+    public void closeGame(String gameId) {
+        List<Subscriber> gameSubscribers = subscribers.remove(gameId);
+        if (gameSubscribers != null) {
+            gameSubscribers.forEach(subscriber -> subscriber.sink.complete());
+        }
+    }
+
+    // Ends every open stream, then stops the senders; sends already under way get a grace period
+    @PreDestroy
+    public void shutdown() {
+        for (String gameId : List.copyOf(subscribers.keySet())) {
+            closeGame(gameId);
+        }
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void unsubscribe(String gameId, Subscriber subscriber) {
+        subscribers.computeIfPresent(gameId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private record Update(long sequence, GameDto snapshot) {
+    }
+
+    private final class Subscriber {
+        private final String gameId;
+        private final UpdateSink sink;
+        private final AtomicReference<Update> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(String gameId, UpdateSink sink) {
+            this.gameId = gameId;
+            this.sink = sink;
+        }
+
+        void offer(Update update) {
+            pending.set(update); // Newer snapshots replace ones not sent yet
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false); // Shutting down: the stream has been completed already
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Update update;
+                while ((update = pending.getAndSet(null)) != null) {
+                    try {
+                        sink.send(update.sequence(), update.snapshot());
+                    } catch (IOException | IllegalStateException e) {
+                        logger.debug("Dropping game update subscriber: {}", e.getMessage());
+                        pending.set(null);
+                        unsubscribe(gameId, this);
+                        sink.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Re-check: an update may have been offered after the loop saw an empty slot
+            } while (pending.get() != null && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Matchmaking queue: waiting players sit in a lock-free deque and are paired in arrival order.
+ *
+ * Enqueueing never blocks. A thread that sees two or more players waiting tries to become the
+ * drainer and pairs everyone it can, handing each pair to the match starter; the others only
+ * leave their ticket behind. The drainer checks the depth again after stepping down, so a ticket
+ * added while it was finishing is never stranded. When a match cannot start because one of the
+ * players has gone meanwhile, only that player's ticket fails: the other goes back to the head of
+ * the queue.
+ */
+class Matchmaker {
+    private final Deque<Ticket> queue = new ConcurrentLinkedDeque<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>(); // Latest ticket of each player
+    private final AtomicInteger depth = new AtomicInteger(); // Tickets still waiting
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final BiFunction<String, String, CompletableFuture<GameDto>> startMatch;
+    private final Predicate<String> playerExists;
+    private final Counter enqueued;
+    private final Counter matches;
+    private final Counter cancelled;
+    private final Timer waitTime;
+
+    Matchmaker(BiFunction<String, String, CompletableFuture<GameDto>> startMatch, Predicate<String> playerExists,
+               MeterRegistry registry) {
+        this.startMatch = startMatch;
+        this.playerExists = playerExists;
+        this.enqueued = registry.counter("cavacamisa.matchmaking.enqueued");
+        this.matches = Counter.builder("cavacamisa.matchmaking.matches")
+                .description("Pairs of players dealt into a new game").register(registry);
+        this.cancelled = registry.counter("cavacamisa.matchmaking.cancelled");
+        Gauge.builder("cavacamisa.matchmaking.queue.depth", depth, AtomicInteger::get)
+                .description("Players waiting for an opponent")
+                .register(registry);
+        this.waitTime = Timer.builder("cavacamisa.matchmaking.wait")
+                .description("Time from enqueueing to being paired")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(registry);
+    }
+
+    // The player's match; enqueueing again while still waiting returns the same one
+    CompletableFuture<GameDto> enqueue(String playerId) {
+        Ticket ticket = new Ticket(playerId);
+        Ticket current = tickets.merge(playerId, ticket, (old, fresh) -> old.isPending() ? old : fresh);
+        if (current == ticket) {
+            queue.offer(ticket);
+            depth.incrementAndGet();
+            enqueued.increment();
+            match();
+        }
+        return current.match.copy();
+    }
+
+    // The latest match of the player, pending or done, or null if the player never enqueued
+    CompletableFuture<GameDto> matchOf(String playerId) {
+        Ticket ticket = tickets.get(playerId);
+        return ticket != null ? ticket.match.copy() : null;
+    }
+
+    boolean isWaiting(String playerId) {
+        Ticket ticket = tickets.get(playerId);
+        return ticket != null && ticket.isPending();
+    }
+
+    // False if the player is not waiting, including when the match has already been made
+    boolean cancel(String playerId) {
+        Ticket ticket = tickets.get(playerId);
+        if (ticket == null || !ticket.cancel()) {
+            return false;
+        }
+        depth.decrementAndGet();
+        cancelled.increment();
+        queue.remove(ticket);
+        ticket.match.completeExceptionally(new IllegalStateException("Matchmaking cancelled for player " + playerId));
+        return true;
+    }
+
+    // Drops whatever the player left behind, once the player is gone
+    void forget(String playerId) {
+        cancel(playerId);
+        tickets.remove(playerId);
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    private void match() {
+        while (depth.get() >= 2 && draining.compareAndSet(false, true)) {
+            try {
+                drain();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    // Only ever run by one thread at a time
+    private void drain() {
+        Ticket first = null;
+        Ticket next;
+        while ((next = queue.poll()) != null) {
+            if (!next.isPending()) {
+                continue; // Cancelled while queued
+            }
+            if (first == null) {
+                first = next;
+                continue;
+            }
+            // Claim both or neither: a cancel on either side wins over the pairing
+            if (!first.claim()) {
+                first = next;
+                continue;
+            }
+            if (!next.claim()) {
+                first.unclaim();
+                continue;
+            }
+            pair(first, next);
+            first = null;
+        }
+        if (first != null) {
+            queue.offerFirst(first); // Keeps its place at the head
+        }
+    }
+
+    private void pair(Ticket first, Ticket second) {
+        first.matched();
+        second.matched();
+        depth.addAndGet(-2);
+        long now = System.nanoTime();
+        CompletableFuture<GameDto> game;
+        try {
+            game = startMatch.apply(first.playerId, second.playerId);
+        } catch (RuntimeException e) {
+            game = CompletableFuture.failedFuture(e);
+        }
+        game.whenComplete((dto, error) -> {
+            if (error == null) {
+                matches.increment();
+                waitTime.record(now - first.enqueuedNanos, TimeUnit.NANOSECONDS);
+                waitTime.record(now - second.enqueuedNanos, TimeUnit.NANOSECONDS);
+                first.complete(dto, null);
+                second.complete(dto, null);
+                return;
+            }
+            boolean firstGone = !playerExists.test(first.playerId);
+            boolean secondGone = !playerExists.test(second.playerId);
+            if (firstGone == secondGone) { // Both gone, or a failure that is nobody's absence
+                first.complete(null, error);
+                second.complete(null, error);
+                return;
+            }
+            // The survivor waits for the next opponent, ahead of the players who came after it
+            Ticket gone = firstGone ? first : second;
+            Ticket survivor = firstGone ? second : first;
+            gone.complete(null, error);
+            survivor.requeue();
+            queue.offerFirst(survivor);
+            depth.incrementAndGet();
+            match();
+        });
+    }
+
+    private static final class Ticket {
+        private static final int WAITING = 0;
+        private static final int CLAIMED = 1; // Being paired by the drainer, for a couple of CAS at most
+        private static final int MATCHED = 2;
+        private static final int CANCELLED = 3;
+
+        final String playerId;
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<GameDto> match = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Ticket(String playerId) {
+            this.playerId = playerId;
+        }
+
+        boolean isPending() {
+            int current = state.get();
+            return current == WAITING || current == CLAIMED;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(WAITING, CLAIMED);
+        }
+
+        void unclaim() {
+            state.set(WAITING);
+        }
+
+        void matched() {
+            state.set(MATCHED);
+        }
+
+        void requeue() {
+            state.set(WAITING);
+        }
+
+        boolean cancel() {
+            while (true) {
+                int current = state.get();
+                if (current == WAITING && state.compareAndSet(WAITING, CANCELLED)) {
+                    return true;
+                }
+                if (current == MATCHED || current == CANCELLED) {
+                    return false;
+                }
+                Thread.onSpinWait(); // Claimed: the drainer settles it right away
+            }
+        }
+
+        void complete(GameDto game, Throwable error) {
+            if (error != null) {
+                match.completeExceptionally(error);
+            } else {
+                match.complete(game);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.cavacamisa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel of expiry deadlines, one per key.
+ *
+ * Deadlines are bucketed into {@code wheelSize} slots of {@code tickMillis} each; a deadline more
+ * than one revolution away waits in its slot until the wheel comes round to its tick. Pushing a
+ * deadline later (the common case: every move of a game) only updates the entry, lock-free; the
+ * entry is moved to its new slot when the wheel reaches the old one. Only a deadline that moves
+ * earlier takes the lock to add a placement, leaving the old one behind as stale.
+ */
+public class TimingWheel<K> {
+    private static final long EXPIRED = Long.MIN_VALUE;
+
+    private final long tickMillis;
+    private final List<Node<K>>[] slots;
+    private final int mask;
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private long currentTick; // Last tick processed, guarded by lock
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Sets the key's deadline, registering the key if needed. Returns false if the key has just
+     * expired: the expiry callback for it has already been or is about to be called.
+     */
+    public boolean touch(K key, long deadlineMillis) {
+        Entry<K> entry = entries.computeIfAbsent(key, Entry::new);
+        long current;
+        do {
+            current = entry.deadline.get();
+            if (current == EXPIRED) {
+                return false;
+            }
+        } while (!entry.deadline.compareAndSet(current, deadlineMillis));
+
+        long tick = tickOf(deadlineMillis);
+        Node<K> node = entry.node;
+        if (node == null || tick < node.tick) {
+            synchronized (lock) {
+                node = entry.node;
+                if (entry.deadline.get() != EXPIRED && (node == null || tick < node.tick)) {
+                    schedule(entry, tick);
+                }
+            }
+        }
+        return true;
+    }
+
+    public void remove(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry != null) {
+            entry.deadline.set(EXPIRED);
+            entry.node = null; // Its placement is dropped when the wheel reaches it
+        }
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and hands each expired key to
+     * {@code onExpired}, outside the wheel lock.
+     */
+    public void advance(long nowMillis, Consumer<K> onExpired) {
+        List<K> expired = new ArrayList<>();
+        synchronized (lock) {
+            long targetTick = Math.floorDiv(nowMillis, tickMillis);
+            List<Entry<K>> rescheduled = new ArrayList<>();
+            while (currentTick < targetTick) {
+                currentTick++;
+                List<Node<K>> slot = slots[(int) currentTick & mask];
+                int kept = 0;
+                for (int i = 0, n = slot.size(); i < n; i++) {
+                    Node<K> node = slot.get(i);
+                    Entry<K> entry = node.entry;
+                    if (entry.node != node) {
+                        continue; // Stale placement
+                    }
+                    if (node.tick > currentTick) {
+                        slot.set(kept++, node); // Due in a later revolution
+                        continue;
+                    }
+                    long deadline = entry.deadline.get();
+                    if (tickOf(deadline) <= currentTick && entry.deadline.compareAndSet(deadline, EXPIRED)) {
+                        entry.node = null;
+                        entries.remove(entry.key, entry);
+                        expired.add(entry.key);
+                    } else {
+                        rescheduled.add(entry); // Touched since it was placed
+                    }
+                }
+                slot.subList(kept, slot.size()).clear();
+                for (Entry<K> entry : rescheduled) {
+                    schedule(entry, tickOf(entry.deadline.get()));
+                }
+                rescheduled.clear();
+            }
+        }
+        expired.forEach(onExpired);
+    }
+
+    // Caller holds the lock
+    private void schedule(Entry<K> entry, long tick) {
+        Node<K> node = new Node<>(entry, Math.max(tick, currentTick + 1));
+        entry.node = node;
+        slots[(int) node.tick & mask].add(node);
+    }
+
+    // First tick at or after the deadline
+    private long tickOf(long deadlineMillis) {
+        return Math.floorDiv(deadlineMillis, tickMillis) + (Math.floorMod(deadlineMillis, tickMillis) == 0 ? 0 : 1);
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final AtomicLong deadline = new AtomicLong();
+        volatile Node<K> node; // Current placement in the wheel, null if not placed
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Node<K> {
+        final Entry<K> entry;
+        final long tick;
+
+        Node(Entry<K> entry, long tick) {
+            this.entry = entry;
+            this.tick = tick;
+        }
+    }
+}
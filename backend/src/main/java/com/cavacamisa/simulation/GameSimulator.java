@@ -0,0 +1,122 @@
+package com.cavacamisa.simulation;
+
+import com.cavacamisa.model.Card;
+import com.cavacamisa.model.CardRing;
+import com.cavacamisa.model.CycleDetector;
+import com.cavacamisa.model.Deal;
+import com.cavacamisa.model.GameState;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Headless playouts of seeded deals, following the same rules as {@link com.cavacamisa.model.Game}
+ * without players, logging or Spring. Deal {@code i} of a batch uses {@link #seedFor(long, int)}.
+ * Deals that loop forever end in {@link GameState#DRAW_CYCLE}, as they do in a Game; the move
+ * limit is only a safety net.
+ */
+public class GameSimulator {
+    public static final int DEFAULT_MAX_MOVES = 10_000;
+
+    private final int maxMoves;
+    private final ForkJoinPool pool;
+
+    public GameSimulator() {
+        this(DEFAULT_MAX_MOVES, ForkJoinPool.commonPool());
+    }
+
+    public GameSimulator(int maxMoves, ForkJoinPool pool) {
+        if (maxMoves <= 0) {
+            throw new IllegalArgumentException("maxMoves must be positive");
+        }
+        this.maxMoves = maxMoves;
+        this.pool = pool;
+    }
+
+    // Spreads consecutive batch indexes over the seed space (same mixing as SplittableRandom)
+    public static long seedFor(long baseSeed, int index) {
+        long z = baseSeed + (index + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public SimulationResult[] simulate(long baseSeed, int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        return pool.submit(() -> IntStream.range(0, games)
+                .parallel()
+                .mapToObj(i -> playOut(seedFor(baseSeed, i)))
+                .toArray(SimulationResult[]::new))
+                .join();
+    }
+
+    public SimulationResult playOut(long seed) {
+        byte[] order = Deal.shuffledOrdinals(seed);
+        int half = order.length / 2;
+        CardRing[] decks = {new CardRing(), new CardRing()};
+        for (int i = 0; i < order.length; i++) {
+            decks[i < half ? 0 : 1].addLast(order[i]);
+        }
+        CardRing table = new CardRing();
+        int[] captures = new int[2];
+        int largestCapture = 0;
+
+        int current = 0;
+        int cardsToPlay = 0;
+        int lastWinning = -1;
+        int moves = 0;
+        CycleDetector cycleDetector = new CycleDetector();
+        cycleDetector.step(CycleDetector.stateHash(decks[0].hash(), decks[1].hash(), table.hash(),
+                current, cardsToPlay, lastWinning));
+        while (moves < maxMoves) {
+            CardRing deck = decks[current];
+            if (deck.isEmpty()) {
+                // Same as Game.playCard: the player on turn without cards ends the game
+                return finished(seed, decks, moves, captures, largestCapture, table.size());
+            }
+            int ordinal = deck.pollFirst();
+            table.addLast(ordinal);
+            moves++;
+
+            if (Card.isWinningOrdinal(ordinal)) {
+                lastWinning = current;
+                cardsToPlay = Card.cardsToPlayForOrdinal(ordinal);
+                current ^= 1;
+            } else if (cardsToPlay > 0) {
+                if (--cardsToPlay == 0) {
+                    if (lastWinning >= 0) {
+                        captures[lastWinning]++;
+                        largestCapture = Math.max(largestCapture, table.size());
+                        decks[lastWinning].addAll(table);
+                        table.clear();
+                    }
+                    lastWinning = -1;
+                    current ^= 1;
+                }
+            } else {
+                current ^= 1;
+            }
+
+            if (decks[0].size() == Card.DECK_SIZE || decks[1].size() == Card.DECK_SIZE) {
+                return finished(seed, decks, moves, captures, largestCapture, table.size());
+            }
+            if (cycleDetector.step(CycleDetector.stateHash(decks[0].hash(), decks[1].hash(), table.hash(),
+                    current, cardsToPlay, lastWinning))) {
+                return new SimulationResult(seed, GameState.DRAW_CYCLE, -1, -1, moves, captures,
+                        largestCapture, table.size(), cycleDetector.getCycleLength());
+            }
+        }
+        return new SimulationResult(seed, GameState.PLAYING, -1, -1, moves, captures, largestCapture,
+                table.size(), 0);
+    }
+
+    private static SimulationResult finished(long seed, CardRing[] decks, int moves, int[] captures,
+                                             int largestCapture, int tableSize) {
+        int winner = decks[0].size() == Card.DECK_SIZE ? 0 : decks[1].size() == Card.DECK_SIZE ? 1 : -1;
+        int loser = decks[0].isEmpty() ? 0 : decks[1].isEmpty() ? 1 : -1;
+        return new SimulationResult(seed, GameState.FINISHED, winner, loser, moves, captures, largestCapture,
+                tableSize, 0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cavacamisa.simulation;
+
+import com.cavacamisa.model.GameState;
+
+public final class SimulationResult {
+    private final long seed;
+    private final GameState state; // FINISHED, DRAW_CYCLE, or PLAYING when the move limit was hit
+    private final int winnerIndex; // Player holding all 40 cards, -1 if none
+    private final int loserIndex; // Player left without cards, -1 if none
+    private final int moves; // Cards played
+    private final int[] captures; // Piles captured, per player
+    private final int largestCapture; // Biggest pile captured in one go
+    private final int finalTableSize;
+    private final int cycleLength; // Moves per repetition when drawn by cycle, 0 otherwise
+
+    public SimulationResult(long seed, GameState state, int winnerIndex, int loserIndex, int moves,
+                            int[] captures, int largestCapture, int finalTableSize, int cycleLength) {
+        this.seed = seed;
+        this.state = state;
+        this.winnerIndex = winnerIndex;
+        this.loserIndex = loserIndex;
+        this.moves = moves;
+        this.captures = captures;
+        this.largestCapture = largestCapture;
+        this.finalTableSize = finalTableSize;
+        this.cycleLength = cycleLength;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public boolean isFinished() {
+        return state == GameState.FINISHED;
+    }
+
+    public boolean isDrawnByCycle() {
+        return state == GameState.DRAW_CYCLE;
+    }
+
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public int getLoserIndex() {
+        return loserIndex;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+
+    public int getCaptures(int playerIndex) {
+        return captures[playerIndex];
+    }
+
+    public int getTotalCaptures() {
+        return captures[0] + captures[1];
+    }
+
+    public int getLargestCapture() {
+        return largestCapture;
+    }
+
+    public int getFinalTableSize() {
+        return finalTableSize;
+    }
+
+    public int getCycleLength() {
+        return cycleLength;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult{" +
+                "seed=" + seed +
+                ", state=" + state +
+                ", winnerIndex=" + winnerIndex +
+                ", loserIndex=" + loserIndex +
+                ", moves=" + moves +
+                ", captures=" + captures[0] + "/" + captures[1] +
+                ", largestCapture=" + largestCapture +
+                ", finalTableSize=" + finalTableSize +
+                ", cycleLength=" + cycleLength +
+                '}';
+    }
+}
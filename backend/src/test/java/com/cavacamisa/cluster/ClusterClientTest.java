@@ -0,0 +1,156 @@
+package com.cavacamisa.cluster;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.dto.CreatePlayerRequest;
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.dto.PlayerDto;
+import com.cavacamisa.service.GameService;
+import com.cavacamisa.service.GameUpdateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterClientTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch returned = new CountDownLatch(1);
+    private final CountDownLatch answerSlowly = new CountDownLatch(1);
+    private HttpServer home;
+    private GameService homeService;
+    private GameService gameService;
+    private ClusterClient client;
+
+    // node2 plays the players' home node, serving POST /api/game/player/{id}/lend and /return from its own service
+    @BeforeEach
+    void setUp() throws IOException {
+        home = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        home.createContext("/api/game/player/", exchange -> {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/game/player/".length()).split("/");
+            byte[] body = new byte[0];
+            int status = 200;
+            if (path[1].equals("return")) {
+                homeService.returnPlayer(path[0]);
+                returned.countDown();
+            } else {
+                lookups.incrementAndGet();
+                try {
+                    body = mapper.writeValueAsBytes(homeService.lendPlayer(path[0]));
+                } catch (IllegalArgumentException e) {
+                    status = 404;
+                }
+            }
+            exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        home.createContext("/slow", exchange -> {
+            try {
+                answerSlowly.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        home.start();
+        Map<String, String> nodes = Map.of("node1", "http://localhost:1",
+                "node2", "http://localhost:" + home.getAddress().getPort());
+        homeService = newGameService("node2", nodes);
+        gameService = newGameService("node1", nodes);
+        client = new ClusterClient(gameService, mapper, new CavacamisaProperties());
+    }
+
+    private static GameService newGameService(String nodeId, Map<String, String> nodes) {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setNodeId(nodeId);
+        properties.getCluster().setNodes(nodes);
+        return new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        answerSlowly.countDown();
+        home.stop(0);
+        homeService.shutdown();
+        gameService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should adopt a player of another node before it joins a game here")
+    void shouldAdoptPlayerOfAnotherNodeBeforeItJoinsGameHere() {
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Remote");
+        PlayerDto remote = homeService.createPlayer(request);
+        assertTrue(remote.getId().startsWith("node2."));
+        GameDto game = gameService.createGame();
+
+        client.ensurePlayer(remote.getId()).join();
+        GameDto joined = gameService.joinGame(game.getId(), remote.getId());
+
+        assertEquals(remote.getId(), joined.getPlayers().get(0).getId());
+        assertEquals("Remote", gameService.getPlayer(remote.getId()).getName());
+        client.ensurePlayer(remote.getId()).join();
+        assertEquals(1, lookups.get()); // Known here from now on
+    }
+
+    @Test
+    @DisplayName("Should return a borrowed player to its home node once dropped here")
+    void shouldReturnBorrowedPlayerOnceDroppedHere() throws InterruptedException {
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Remote");
+        PlayerDto remote = homeService.createPlayer(request);
+        client.ensurePlayer(remote.getId()).join();
+
+        gameService.deletePlayer(remote.getId());
+
+        assertTrue(returned.await(5, TimeUnit.SECONDS));
+        assertTrue(homeService.playerExists(remote.getId()));
+    }
+
+    @Test
+    @DisplayName("Should give up on a node that does not answer within the response timeout")
+    void shouldGiveUpOnNodeThatDoesNotAnswerInTime() {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getCluster().setResponseTimeout(Duration.ofMillis(200));
+        ClusterClient impatient = new ClusterClient(gameService, mapper, properties);
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + home.getAddress().getPort() + "/slow")).GET();
+
+        assertThrows(HttpTimeoutException.class, () -> impatient.send("node2", request));
+    }
+
+    @Test
+    @DisplayName("Should leave local and unknown players to the usual lookup")
+    void shouldLeaveLocalAndUnknownPlayersToUsualLookup() {
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Local");
+        PlayerDto local = gameService.createPlayer(request);
+
+        client.ensurePlayer(local.getId()).join();
+        client.ensurePlayer("node2.missing").join();
+
+        assertEquals(1, lookups.get());
+        assertFalse(gameService.playerExists("node2.missing"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.cavacamisa.cluster;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.service.GameService;
+import com.cavacamisa.service.GameUpdateBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterForwardingFilterTest {
+
+    private final GameService gameService = newGameService();
+    private final ClusterRouter router = gameService.getCluster();
+    private final ClusterForwardingFilter filter = new ClusterForwardingFilter(
+            new ClusterClient(gameService, new ObjectMapper(), new CavacamisaProperties()));
+
+    private static GameService newGameService() {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        CavacamisaProperties.Cluster cluster = ClusterRouterTest.cluster("node1", 3);
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setNodeId(cluster.getNodeId());
+        properties.getCluster().setNodes(cluster.getNodes());
+        return new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should route game and player requests to the node in their id")
+    void shouldRouteGameAndPlayerRequestsToNodeInTheirId() {
+        assertEquals("node2", filter.targetOf("GET", "/api/game/node2.abc"));
+        assertEquals("node3", filter.targetOf("POST", "/api/game/node3.abc/play"));
+        assertEquals("node3", filter.targetOf("GET", "/api/game/node3.abc/events"));
+        assertEquals("node2", filter.targetOf("DELETE", "/api/game/player/node2.abc"));
+        assertEquals("node1", filter.targetOf("GET", "/api/game/node1.abc"));
+        assertEquals("node1", filter.targetOf("GET", "/api/game/legacy-id"));
+    }
+
+    @Test
+    @DisplayName("Should serve listings and new players here, matchmaking on one node and new games anywhere")
+    void shouldServeListingsHereMatchmakingOnOneNodeAndNewGamesAnywhere() {
+        assertNull(filter.targetOf("GET", "/api/game"));
+        assertNull(filter.targetOf("GET", "/api/game/open"));
+        assertNull(filter.targetOf("GET", "/api/game/stream"));
+        assertNull(filter.targetOf("POST", "/api/game/player"));
+        assertNull(filter.targetOf("GET", "/api/health"));
+        assertEquals(router.matchmakingNode(), filter.targetOf("POST", "/api/game/matchmaking"));
+        assertEquals(router.matchmakingNode(), filter.targetOf("GET", "/api/game/matchmaking/node2.abc"));
+
+        Set<String> placed = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            placed.add(filter.targetOf("POST", "/api/game"));
+        }
+        assertEquals(Set.of("node1", "node2", "node3"), placed);
+    }
+}
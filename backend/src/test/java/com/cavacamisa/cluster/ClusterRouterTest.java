@@ -0,0 +1,89 @@
+package com.cavacamisa.cluster;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterRouterTest {
+
+    static CavacamisaProperties.Cluster cluster(String self, int nodeCount) {
+        CavacamisaProperties.Cluster properties = new CavacamisaProperties.Cluster();
+        properties.setEnabled(true);
+        properties.setNodeId(self);
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 1; i <= nodeCount; i++) {
+            nodes.put("node" + i, "http://localhost:" + (8080 + i));
+        }
+        properties.setNodes(nodes);
+        return properties;
+    }
+
+    @Test
+    @DisplayName("Should hand out game ids that the ring assigns to this node")
+    void shouldHandOutGameIdsThatRingAssignsToThisNode() {
+        CavacamisaProperties.Cluster properties = cluster("node2", 3);
+        ClusterRouter router = new ClusterRouter(properties);
+        HashRing ring = new HashRing(properties.getNodes().keySet(), properties.getVirtualNodes());
+
+        for (int i = 0; i < 100; i++) {
+            String gameId = router.newGameId();
+            assertTrue(gameId.startsWith("node2."));
+            assertEquals("node2", ring.nodeFor(gameId.substring("node2.".length())));
+            assertEquals("node2", router.ownerOf(gameId));
+        }
+        assertEquals("node2", router.ownerOf(router.newPlayerId()));
+    }
+
+    @Test
+    @DisplayName("Should route ids by their node prefix")
+    void shouldRouteIdsByNodePrefix() {
+        ClusterRouter router = new ClusterRouter(cluster("node1", 3));
+
+        assertEquals("node3", router.ownerOf("node3." + UUID.randomUUID()));
+        assertEquals("node1", router.ownerOf(UUID.randomUUID().toString())); // Minted by a standalone node
+        assertEquals("node1", router.ownerOf("node9." + UUID.randomUUID()));
+        assertEquals("http://localhost:8083", router.urlOf("node3").toString());
+        assertThrows(IllegalArgumentException.class, () -> router.urlOf("node9"));
+    }
+
+    @Test
+    @DisplayName("Should place new games on every node and agree on the matchmaking node")
+    void shouldPlaceNewGamesOnEveryNodeAndAgreeOnMatchmakingNode() {
+        ClusterRouter first = new ClusterRouter(cluster("node1", 3));
+        ClusterRouter third = new ClusterRouter(cluster("node3", 3));
+
+        Set<String> placed = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            placed.add(first.placeNewGame());
+        }
+        assertEquals(Set.of("node1", "node2", "node3"), placed);
+        assertEquals(first.matchmakingNode(), third.matchmakingNode());
+    }
+
+    @Test
+    @DisplayName("Should keep plain ids and everything local when disabled")
+    void shouldKeepPlainIdsAndEverythingLocalWhenDisabled() {
+        ClusterRouter router = new ClusterRouter(new CavacamisaProperties.Cluster());
+
+        assertFalse(router.isEnabled());
+        assertDoesNotThrow(() -> UUID.fromString(router.newGameId()));
+        assertDoesNotThrow(() -> UUID.fromString(router.newPlayerId()));
+        assertTrue(router.isSelf(router.ownerOf("node2." + UUID.randomUUID())));
+        assertTrue(router.isSelf(router.matchmakingNode()));
+    }
+
+    @Test
+    @DisplayName("Should reject a node id missing from the node list")
+    void shouldRejectNodeIdMissingFromNodeList() {
+        assertThrows(IllegalStateException.class, () -> new ClusterRouter(cluster("node4", 3)));
+        assertThrows(IllegalStateException.class, () -> new ClusterRouter(cluster("node.1", 3)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.cavacamisa.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    @DisplayName("Should spread keys evenly over the nodes")
+    void shouldSpreadKeysEvenlyOverNodes() {
+        HashRing ring = new HashRing(List.of("node1", "node2", "node3", "node4"), 160);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertEquals(KEYS / 4.0, count, KEYS / 4.0 * 0.15);
+        }
+    }
+
+    @Test
+    @DisplayName("Should move only the new node's share of keys when a node is added")
+    void shouldMoveOnlyNewNodeShareWhenNodeIsAdded() {
+        HashRing three = new HashRing(List.of("node1", "node2", "node3"), 160);
+        HashRing four = new HashRing(List.of("node1", "node2", "node3", "node4"), 160);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = UUID.randomUUID().toString();
+            String before = three.nodeFor(key);
+            String after = four.nodeFor(key);
+            if (!before.equals(after)) {
+                assertEquals("node4", after); // Keys only ever move to the new node
+                moved++;
+            }
+        }
+
+        assertEquals(KEYS / 4.0, moved, KEYS / 4.0 * 0.15);
+    }
+
+    @Test
+    @DisplayName("Should build the same ring whatever the node order")
+    void shouldBuildSameRingWhateverNodeOrder() {
+        HashRing ring = new HashRing(List.of("node1", "node2", "node3"), 64);
+        HashRing reversed = new HashRing(List.of("node3", "node2", "node1"), 64);
+
+        for (int i = 0; i < 1_000; i++) {
+            String key = "game-" + i;
+            assertEquals(ring.nodeFor(key), reversed.nodeFor(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an empty ring")
+    void shouldRejectEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of(), 160));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of("node1"), 0));
+    }
+}
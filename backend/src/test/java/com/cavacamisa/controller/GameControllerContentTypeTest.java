@@ -0,0 +1,124 @@
+package com.cavacamisa.controller;
+
+import com.cavacamisa.dto.CreatePlayerRequest;
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.dto.PackedDtoCodec;
+import com.cavacamisa.dto.PlayerDto;
+import com.cavacamisa.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerContentTypeTest {
+
+    private static final MediaType PACKED = MediaType.parseMediaType(PackedDtoCodec.MEDIA_TYPE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private GameDto game;
+
+    @BeforeEach
+    void setUp() {
+        game = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        gameService.joinGame(game.getId(), player1.getId());
+        game = gameService.joinGame(game.getId(), player2.getId());
+    }
+
+    @Test
+    @DisplayName("Should answer JSON to clients that accept anything")
+    void shouldAnswerJsonToAnyAccept() throws Exception {
+        for (String path : new String[]{"/api/game/" + game.getId(), "/api/game/" + game.getId() + "/delta?since=0"}) {
+            MvcResult result = mockMvc.perform(get(path).accept(MediaType.ALL))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer CBOR when the client asks for it")
+    void shouldAnswerCborWhenAsked() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/game/" + game.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        GameDto decoded = new CBORMapper().readValue(body, GameDto.class);
+        assertEquals(game.getId(), decoded.getId());
+        assertEquals(game.getVersion(), decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should answer the packed form when the client asks for it")
+    void shouldAnswerPackedWhenAsked() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/game/" + game.getId()).accept(PACKED))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PACKED))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        GameDto decoded = PackedDtoCodec.decodeGame(body);
+        assertEquals(game.getId(), decoded.getId());
+        assertEquals(game.getVersion(), decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should stream game updates as JSON events")
+    void shouldStreamUpdatesAsJson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/game/" + game.getId() + "/events").accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The current snapshot is sent right after subscribing, from the broadcaster's sender
+        String stream = "";
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!stream.contains("\n\n") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            stream = result.getResponse().getContentAsString();
+        }
+
+        assertTrue(stream.contains("event:"), stream);
+        String data = stream.lines()
+                .filter(line -> line.startsWith("data:"))
+                .findFirst()
+                .orElseThrow()
+                .substring("data:".length());
+        assertEquals(game.getId(), objectMapper.readTree(data).get("id").asText());
+    }
+}
@@ -0,0 +1,71 @@
+package com.cavacamisa.controller;
+
+import com.cavacamisa.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerListingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        gameService.createGame();
+        gameService.createGame();
+    }
+
+    @Test
+    @DisplayName("Should answer the unpaged game array without parameters")
+    void shouldAnswerUnpagedArrayWithoutParameters() throws Exception {
+        JsonNode body = read(mockMvc.perform(get("/api/game")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertTrue(body.isArray());
+        assertTrue(body.size() >= 2);
+        assertTrue(body.get(0).has("players"));
+    }
+
+    @Test
+    @DisplayName("Should answer a page when a paging or filter parameter is given")
+    void shouldAnswerPageWithParameters() throws Exception {
+        JsonNode limited = read(mockMvc.perform(get("/api/game").param("limit", "1")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode filtered = read(mockMvc.perform(get("/api/game").param("state", "WAITING_FOR_PLAYERS"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertEquals(1, limited.get("games").size());
+        assertNotNull(limited.get("nextCursor").textValue());
+        assertTrue(filtered.get("games").size() >= 2);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid page limit")
+    void shouldRejectInvalidPageLimit() throws Exception {
+        mockMvc.perform(get("/api/game").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(byte[] body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
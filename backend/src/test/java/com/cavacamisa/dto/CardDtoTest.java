@@ -1,6 +1,8 @@
 package com.cavacamisa.dto;
 
 import com.cavacamisa.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,27 +40,27 @@ class CardDtoTest {
     }
 
     @Test
-    @DisplayName("Should create empty CardDto with default constructor")
-    void shouldCreateEmptyCardDtoWithDefaultConstructor() {
-        CardDto dto = new CardDto();
-        
-        assertEquals(0, dto.getRank());
-        assertNull(dto.getSuit());
-        assertNull(dto.getDisplayName());
-    }
-
-    @Test
-    @DisplayName("Should set and get properties correctly")
-    void shouldSetAndGetPropertiesCorrectly() {
-        CardDto dto = new CardDto();
-        
-        dto.setRank(7);
-        dto.setSuit("Spade");
-        dto.setDisplayName("Sette di Spade");
+    @DisplayName("Should hold the properties it is built with")
+    void shouldHoldPropertiesItIsBuiltWith() {
+        CardDto dto = new CardDto(7, "Spade", "Sette di Spade", false);
         
         assertEquals(7, dto.getRank());
         assertEquals("Spade", dto.getSuit());
         assertEquals("Sette di Spade", dto.getDisplayName());
+        assertFalse(dto.isWinningCard());
+    }
+
+    @Test
+    @DisplayName("Should read a card back from JSON")
+    void shouldReadCardBackFromJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        CardDto read = mapper.readValue(mapper.writeValueAsString(CardDto.of(card)), CardDto.class);
+
+        assertEquals(card.getRank(), read.getRank());
+        assertEquals(card.getSuit().getDisplayName(), read.getSuit());
+        assertEquals(card.getDisplayName(), read.getDisplayName());
+        assertEquals(card.isWinningCard(), read.isWinningCard());
     }
 
     @Test
@@ -110,4 +112,33 @@ class CardDtoTest {
         assertEquals("Cavallo di Coppe", cavallo.getDisplayName());
         assertEquals("Re di Ori", re.getDisplayName());
     }
+
+    @Test
+    @DisplayName("Should share one CardDto per card")
+    void shouldShareOneReadOnlyCardDtoPerCard() {
+        CardDto shared = CardDto.of(card);
+
+        assertSame(shared, CardDto.of(Card.fromOrdinal(card.getOrdinal())));
+        assertEquals("Cinque di Coppe", shared.getDisplayName());
+        assertNotSame(shared, new CardDto(card));
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON for shared and built cards")
+    void shouldWriteSameJsonForSharedAndBuiltCards() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            Card each = Card.fromOrdinal(ordinal);
+            assertEquals(mapper.writeValueAsString(new CardDto(each)), mapper.writeValueAsString(CardDto.of(each)));
+            assertEquals(mapper.valueToTree(new CardDto(each)), mapper.valueToTree(CardDto.of(each))); // Structured path
+        }
+
+        Game game = new Game("game", 2L);
+        game.addPlayer(new Player("player1", "Player 1"));
+        game.addPlayer(new Player("player2", "Player 2"));
+        JsonNode json = mapper.readTree(mapper.writeValueAsBytes(new GameDto(game, true)));
+        assertEquals(20, json.get("players").get(0).get("deck").size());
+        assertEquals(mapper.valueToTree(new CardDto(game.getPlayers().get(1).getDeckView().get(0))),
+                json.get("players").get(1).get("deck").get(0));
+    }
 }
@@ -53,6 +53,23 @@ class GameDtoTest {
         assertEquals("Player 2", dto.getPlayers().get(1).getName());
     }
 
+    @Test
+    @DisplayName("Should create GameDto without deck contents")
+    void shouldCreateGameDtoWithoutDeckContents() {
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        game.playCard("player1");
+        
+        GameDto dto = new GameDto(game, false);
+        
+        assertEquals(19, dto.getPlayers().get(0).getDeckSize());
+        assertEquals(20, dto.getPlayers().get(1).getDeckSize());
+        assertNull(dto.getPlayers().get(0).getDeck());
+        assertNull(dto.getPlayers().get(1).getDeck());
+        assertEquals(1, dto.getTableCards().size());
+        assertEquals(game.getCurrentPlayerIndex(), dto.getCurrentPlayerIndex());
+    }
+
     @Test
     @DisplayName("Should create GameDto with table cards correctly")
     void shouldCreateGameDtoWithTableCardsCorrectly() {
@@ -183,9 +200,7 @@ class GameDtoTest {
     @DisplayName("Should handle table cards list correctly")
     void shouldHandleTableCardsListCorrectly() {
         GameDto dto = new GameDto();
-        CardDto cardDto = new CardDto();
-        cardDto.setRank(5);
-        cardDto.setSuit("Coppe");
+        CardDto cardDto = new CardDto(5, "Coppe", "Cinque di Coppe", false);
         
         dto.setTableCards(Arrays.asList(cardDto));
         
@@ -0,0 +1,159 @@
+package com.cavacamisa.dto;
+
+import com.cavacamisa.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDtoCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("game-1", 2L);
+        game.addPlayer(new Player("player1", "Player 1"));
+        game.addPlayer(new Player("player2", "Player 2"));
+    }
+
+    private void play(int moves) {
+        for (int i = 0; i < moves && !game.isGameFinished(); i++) {
+            game.playCard(game.getCurrentPlayer().getId());
+        }
+    }
+
+    // Same JSON means the decoder rebuilt every field the client would have seen
+    private void assertSameJson(Object expected, Object actual) {
+        assertEquals(mapper.valueToTree(expected), mapper.valueToTree(actual));
+    }
+
+    @Test
+    @DisplayName("Should round trip a game with and without decks")
+    void shouldRoundTripGameWithAndWithoutDecks() {
+        play(120);
+        GameDto withDecks = new GameDto(game, true);
+        GameDto withoutDecks = new GameDto(game, false);
+
+        assertSameJson(withDecks, PackedDtoCodec.decodeGame(PackedDtoCodec.encode(withDecks)));
+        assertSameJson(withoutDecks, PackedDtoCodec.decodeGame(PackedDtoCodec.encode(withoutDecks)));
+    }
+
+    @Test
+    @DisplayName("Should round trip a finished game with its winner and loser")
+    void shouldRoundTripFinishedGameWithWinnerAndLoser() {
+        play(Integer.MAX_VALUE);
+        GameDto finished = new GameDto(game, false);
+        assertTrue(finished.isGameFinished());
+
+        GameDto decoded = PackedDtoCodec.decodeGame(PackedDtoCodec.encode(finished));
+
+        assertSameJson(finished, decoded);
+        assertEquals(finished.getWinner() != null, decoded.getWinner() != null);
+    }
+
+    @Test
+    @DisplayName("Should round trip a player and a waiting game")
+    void shouldRoundTripPlayerAndWaitingGame() {
+        PlayerDto player = new PlayerDto(game.getPlayers().get(0), true);
+        assertSameJson(player, PackedDtoCodec.decodePlayer(PackedDtoCodec.encode(player)));
+
+        GameDto waiting = new GameDto(new Game("game-2"), false);
+        assertSameJson(waiting, PackedDtoCodec.decodeGame(PackedDtoCodec.encode(waiting)));
+    }
+
+    @Test
+    @DisplayName("Should round trip event and snapshot deltas")
+    void shouldRoundTripEventAndSnapshotDeltas() {
+        long since = game.getVersion();
+        play(40);
+        List<GameEventDto> events = game.getEventsSince(since).stream().map(GameEventDto::new).toList();
+        assertTrue(events.stream().anyMatch(event -> event.getCapturedBy() != null));
+        GameDeltaDto delta = GameDeltaDto.ofEvents(game.getId(), since, game.getVersion(), events);
+        assertSameJson(delta, PackedDtoCodec.decodeDelta(PackedDtoCodec.encode(delta)));
+
+        GameDeltaDto snapshot = GameDeltaDto.ofSnapshot(0, new GameDto(game, false));
+        assertSameJson(snapshot, PackedDtoCodec.decodeDelta(PackedDtoCodec.encode(snapshot)));
+    }
+
+    @Test
+    @DisplayName("Should be a fraction of the JSON size")
+    void shouldBeFractionOfJsonSize() throws Exception {
+        GameDto dealt = new GameDto(game, true);
+
+        int packed = PackedDtoCodec.encode(dealt).length;
+        int json = mapper.writeValueAsBytes(dealt).length;
+
+        assertTrue(packed * 10 < json, "packed " + packed + " bytes, JSON " + json + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should decode cards into the shared instances")
+    void shouldDecodeCardsIntoSharedInstances() {
+        play(10);
+        GameDto decoded = PackedDtoCodec.decodeGame(PackedDtoCodec.encode(new GameDto(game, true)));
+
+        Card original = game.getPlayers().get(0).getDeck().get(0);
+        assertSame(CardDto.of(original), decoded.getPlayers().get(0).getDeck().get(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a message of another kind")
+    void shouldRejectMessageOfAnotherKind() {
+        byte[] player = PackedDtoCodec.encode(new PlayerDto(game.getPlayers().get(0), false));
+
+        assertThrows(IllegalArgumentException.class, () -> PackedDtoCodec.decodeGame(player));
+        assertFalse(PackedDtoCodec.supports(CardDto.class));
+    }
+
+    @Test
+    @DisplayName("Should round trip a player without a name")
+    void shouldRoundTripPlayerWithoutName() {
+        game = new Game("game-2", 2L);
+        game.addPlayer(new Player("player1", null));
+        game.addPlayer(new Player("player2", ""));
+        GameDto unnamed = new GameDto(game, false);
+
+        GameDto decoded = PackedDtoCodec.decodeGame(PackedDtoCodec.encode(unnamed));
+
+        assertNull(decoded.getPlayers().get(0).getName());
+        assertEquals("", decoded.getPlayers().get(1).getName());
+        assertSameJson(unnamed, decoded);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated and padded messages")
+    void shouldRejectTruncatedAndPaddedMessages() {
+        play(30);
+        byte[] encoded = PackedDtoCodec.encode(new GameDto(game, true));
+
+        for (int length = 1; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IllegalArgumentException.class, () -> PackedDtoCodec.decodeGame(truncated));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDtoCodec.decodeGame(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject out of range lengths, states and cards")
+    void shouldRejectOutOfRangeFields() {
+        // Kind, then a string length far beyond the message
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDtoCodec.decodeGame(new byte[] {'G', (byte) 0xFF, (byte) 0xFF, 0x7F}));
+        // Kind, empty id, then a state ordinal past the last state
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDtoCodec.decodeGame(new byte[] {'G', 1, (byte) 0xFE}));
+
+        play(1);
+        byte[] encoded = PackedDtoCodec.encode(new GameDto(game, false));
+        encoded[encoded.length - 1] = 60; // The card just played, past the last ordinal
+        assertThrows(IllegalArgumentException.class, () -> PackedDtoCodec.decodeGame(encoded));
+    }
+}
@@ -45,6 +45,19 @@ class PlayerDtoTest {
         assertEquals("Ori", dto.getDeck().get(1).getSuit());
     }
 
+    @Test
+    @DisplayName("Should omit deck contents when deck is not included")
+    void shouldOmitDeckContentsWhenDeckIsNotIncluded() {
+        player.addCardToDeck(new Card(1, Suit.COPPE));
+        player.addCardToDeck(new Card(2, Suit.ORI));
+        
+        PlayerDto dto = new PlayerDto(player, false);
+        
+        assertEquals(2, dto.getDeckSize());
+        assertTrue(dto.isHasCards());
+        assertNull(dto.getDeck());
+    }
+
     @Test
     @DisplayName("Should create empty PlayerDto with default constructor")
     void shouldCreateEmptyPlayerDtoWithDefaultConstructor() {
@@ -74,12 +87,8 @@ class PlayerDtoTest {
     @DisplayName("Should handle deck list correctly")
     void shouldHandleDeckListCorrectly() {
         PlayerDto dto = new PlayerDto();
-        CardDto card1 = new CardDto();
-        card1.setRank(1);
-        card1.setSuit("Coppe");
-        CardDto card2 = new CardDto();
-        card2.setRank(2);
-        card2.setSuit("Ori");
+        CardDto card1 = new CardDto(1, "Coppe", "Asso di Coppe", true);
+        CardDto card2 = new CardDto(2, "Ori", "Due di Ori", true);
         
         dto.setDeck(Arrays.asList(card1, card2));
         
@@ -0,0 +1,63 @@
+package com.cavacamisa.jfr;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.Player;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFlightRecorderTest {
+
+    @Test
+    @DisplayName("Should record the game events and dump them")
+    void shouldRecordGameEventsAndDumpThem() throws Exception {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getFlightRecorder().setEnabled(true);
+        GameFlightRecorder recorder = new GameFlightRecorder(properties);
+        recorder.start();
+        try {
+            Game game = new Game("recorded-game", 2L); // 280 moves with captures
+            game.addPlayer(new Player("player1", "Player 1"));
+            game.addPlayer(new Player("player2", "Player 2"));
+            while (!game.isGameFinished()) {
+                game.playCard(game.getCurrentPlayer().getId());
+            }
+
+            Path dump = recorder.dump(Duration.ofMinutes(1));
+            Map<String, Integer> counts = new HashMap<>();
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            for (RecordedEvent event : events) {
+                if ("recorded-game".equals(event.getString("gameId"))) {
+                    counts.merge(event.getEventType().getName(), 1, Integer::sum);
+                }
+            }
+            assertEquals(280, counts.getOrDefault("com.cavacamisa.CardPlayed", 0).intValue());
+            assertTrue(counts.getOrDefault("com.cavacamisa.PenaltyStarted", 0).intValue() > 0);
+            assertTrue(counts.getOrDefault("com.cavacamisa.PileCaptured", 0).intValue() > 0);
+            assertEquals(1, counts.getOrDefault("com.cavacamisa.GameFinished", 0).intValue());
+            assertTrue(Files.exists(dump));
+        } finally {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to dump when the recording is disabled")
+    void shouldRefuseToDumpWhenDisabled() {
+        GameFlightRecorder recorder = new GameFlightRecorder(new CavacamisaProperties());
+        recorder.start();
+        assertFalse(recorder.isRecording());
+        assertThrows(IllegalStateException.class, () -> recorder.dump(Duration.ofMinutes(1)));
+    }
+}
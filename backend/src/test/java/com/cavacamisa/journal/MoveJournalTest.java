@@ -0,0 +1,265 @@
+package com.cavacamisa.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final String gameId = UUID.randomUUID().toString();
+    private final String playerId = UUID.randomUUID().toString();
+
+    @Test
+    @DisplayName("Should replay every record in order after reopening")
+    void shouldReplayEveryRecordInOrder() throws IOException {
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.gameCreated(gameId, -42L, 1_700_000_000_000L);
+            journal.playerCreated(playerId, "Giocatore è");
+            journal.playerJoined(gameId, playerId);
+            journal.cardPlayed(gameId);
+            journal.gameDeleted(gameId);
+            journal.playerDeleted(playerId);
+        }
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(List.of(
+                "game " + gameId + " -42 1700000000000",
+                "player " + playerId + " Giocatore è",
+                "join " + gameId + " " + playerId,
+                "play " + gameId,
+                "delete-game " + gameId,
+                "delete-player " + playerId), replayed.records);
+    }
+
+    @Test
+    @DisplayName("Should replay ids prefixed with a cluster node id")
+    void shouldReplayNodePrefixedIds() throws IOException {
+        String clusteredGameId = "node1." + gameId;
+        String clusteredPlayerId = "nodo-è." + playerId;
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.gameCreated(clusteredGameId, 7L, 1L);
+            journal.playerCreated(clusteredPlayerId, "Remote");
+            journal.playerJoined(clusteredGameId, clusteredPlayerId);
+            journal.playerJoined(clusteredGameId, playerId); // A plain id from before clustering
+            journal.cardPlayed(clusteredGameId);
+        }
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(List.of(
+                "game " + clusteredGameId + " 7 1",
+                "player " + clusteredPlayerId + " Remote",
+                "join " + clusteredGameId + " " + clusteredPlayerId,
+                "join " + clusteredGameId + " " + playerId,
+                "play " + clusteredGameId), replayed.records);
+    }
+
+    @Test
+    @DisplayName("Should replay ids that are not UUIDs unchanged")
+    void shouldReplayNonUuidIds() throws IOException {
+        String upperCaseId = gameId.toUpperCase();
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.gameCreated("game-1", 3L, 2L);
+            journal.playerCreated("node1.player-1", "Plain");
+            journal.playerJoined("game-1", playerId); // A UUID next to a non-UUID id
+            journal.cardPlayed(upperCaseId);
+        }
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(List.of(
+                "game game-1 3 2",
+                "player node1.player-1 Plain",
+                "join game-1 " + playerId,
+                "play " + upperCaseId), replayed.records);
+    }
+
+    @Test
+    @DisplayName("Should compact away the records of deleted games")
+    void shouldCompactAwayDeletedGames() throws IOException {
+        String liveGameId = UUID.randomUUID().toString();
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_SIZE, Duration.ofMillis(5), 2, new Recorder())) {
+            journal.gameCreated(gameId, 1L, 1L);
+            for (int i = 0; i < 6_000; i++) {
+                journal.cardPlayed(gameId);
+            }
+            journal.gameDeleted(gameId);
+            journal.gameCreated(liveGameId, 2L, 2L);
+            journal.playerCreated(playerId, "Player 1");
+            journal.playerJoined(liveGameId, playerId);
+            for (int i = 0; i < 3_000; i++) {
+                journal.cardPlayed(liveGameId);
+            }
+        } // Closing waits for the compaction started by the last roll
+
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count()); // The compacted segment and the active one
+        }
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(3 + 3_000, replayed.records.size());
+        assertEquals(List.of("game " + liveGameId + " 2 2", "player " + playerId + " Player 1",
+                "join " + liveGameId + " " + playerId), replayed.records.subList(0, 3));
+        assertTrue(replayed.records.stream().noneMatch(record -> record.contains(gameId)));
+    }
+
+    @Test
+    @DisplayName("Should keep a deleted player who is still seated in a live game")
+    void shouldKeepDeletedPlayerSeatedInLiveGame() throws IOException {
+        String goneGameId = UUID.randomUUID().toString();
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_SIZE, Duration.ofMillis(5), 2, new Recorder())) {
+            journal.playerCreated(playerId, "Player 1");
+            journal.gameCreated(gameId, 1L, 1L);
+            journal.playerJoined(gameId, playerId);
+            journal.gameCreated(goneGameId, 2L, 2L);
+            journal.playerJoined(goneGameId, playerId);
+            journal.gameDeleted(goneGameId);
+            journal.playerDeleted(playerId);
+            for (int i = 0; i < 6_000; i++) {
+                journal.cardPlayed(gameId);
+            }
+        }
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(List.of("player " + playerId + " Player 1", "game " + gameId + " 1 1",
+                "join " + gameId + " " + playerId, "delete-player " + playerId), replayed.records.subList(0, 4));
+        assertEquals(4 + 6_000, replayed.records.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore segments left behind by an interrupted compaction")
+    void shouldIgnoreSegmentsLeftByInterruptedCompaction() throws IOException {
+        try (MoveJournal journal = MoveJournal.open(directory, SEGMENT_SIZE, Duration.ofMillis(5), 2, new Recorder())) {
+            journal.gameCreated(gameId, 1L, 1L);
+            for (int i = 0; i < 6_000; i++) {
+                journal.cardPlayed(gameId);
+            }
+        }
+        Path compacted;
+        try (var files = Files.list(directory)) {
+            compacted = files.sorted().findFirst().orElseThrow();
+        }
+        // As if the compaction had stopped before deleting a segment it covers
+        Path stale = directory.resolve("journal-00000000.seg");
+        assertNotEquals(stale, compacted);
+        Files.copy(compacted, stale);
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(1 + 6_000, replayed.records.size());
+        assertFalse(Files.exists(stale));
+    }
+
+    @Test
+    @DisplayName("Should append after the records of a previous run")
+    void shouldAppendAfterPreviousRun() throws IOException {
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.cardPlayed(gameId);
+        }
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.gameDeleted(gameId);
+        }
+
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(List.of("play " + gameId, "delete-game " + gameId), replayed.records);
+    }
+
+    @Test
+    @DisplayName("Should roll over to new segments when one is full")
+    void shouldRollOverToNewSegments() throws IOException {
+        int moves = 10_000; // 23 bytes each: several 64 KB segments
+        try (MoveJournal journal = open(new Recorder())) {
+            for (int i = 0; i < moves; i++) {
+                journal.cardPlayed(gameId);
+            }
+        }
+
+        try (var files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        Recorder replayed = new Recorder();
+        open(replayed).close();
+        assertEquals(moves, replayed.records.size());
+    }
+
+    @Test
+    @DisplayName("Should stop the replay at a torn record")
+    void shouldStopReplayAtTornRecord() throws IOException {
+        try (MoveJournal journal = open(new Recorder())) {
+            journal.cardPlayed(gameId);
+            journal.cardPlayed(gameId);
+        }
+        // Corrupt the body of the second record
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("journal-00000000.seg").toFile(), "rw")) {
+            file.seek(23 + 5);
+            file.write(0x7F);
+        }
+
+        Recorder replayed = new Recorder();
+        try (MoveJournal journal = open(replayed)) {
+            journal.gameDeleted(gameId); // Overwrites the torn record
+        }
+        assertEquals(List.of("play " + gameId), replayed.records);
+
+        Recorder afterRepair = new Recorder();
+        open(afterRepair).close();
+        assertEquals(List.of("play " + gameId, "delete-game " + gameId), afterRepair.records);
+    }
+
+    private MoveJournal open(MoveJournal.Visitor visitor) throws IOException {
+        return MoveJournal.open(directory, SEGMENT_SIZE, Duration.ofMillis(5), 0, visitor);
+    }
+
+    private static class Recorder implements MoveJournal.Visitor {
+        final List<String> records = new ArrayList<>();
+
+        @Override
+        public void gameCreated(String gameId, long seed, long createdAt) {
+            records.add("game " + gameId + " " + seed + " " + createdAt);
+        }
+
+        @Override
+        public void playerCreated(String playerId, String name) {
+            records.add("player " + playerId + " " + name);
+        }
+
+        @Override
+        public void playerJoined(String gameId, String playerId) {
+            records.add("join " + gameId + " " + playerId);
+        }
+
+        @Override
+        public void cardPlayed(String gameId) {
+            records.add("play " + gameId);
+        }
+
+        @Override
+        public void gameDeleted(String gameId) {
+            records.add("delete-game " + gameId);
+        }
+
+        @Override
+        public void playerDeleted(String playerId) {
+            records.add("delete-player " + playerId);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.cavacamisa.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardRingTest {
+
+    private CardRing ring;
+
+    @BeforeEach
+    void setUp() {
+        ring = new CardRing();
+    }
+
+    @Test
+    @DisplayName("Should be empty initially")
+    void shouldBeEmptyInitially() {
+        assertTrue(ring.isEmpty());
+        assertEquals(0, ring.size());
+        assertEquals(-1, ring.pollFirst());
+    }
+
+    @Test
+    @DisplayName("Should draw cards in insertion order")
+    void shouldDrawCardsInInsertionOrder() {
+        ring.addLast(7);
+        ring.addLast(3);
+        ring.addLast(39);
+
+        assertEquals(7, ring.pollFirst());
+        assertEquals(3, ring.pollFirst());
+        assertEquals(39, ring.pollFirst());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep order when head wraps around the buffer")
+    void shouldKeepOrderWhenHeadWrapsAround() {
+        CardRing small = new CardRing(4);
+        for (int round = 0; round < 10; round++) {
+            small.addLast(round);
+            small.addLast(round + 10);
+            assertEquals(round, small.pollFirst());
+            assertEquals(round + 10, small.pollFirst());
+        }
+        assertTrue(small.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should grow beyond initial capacity preserving order")
+    void shouldGrowBeyondInitialCapacityPreservingOrder() {
+        CardRing small = new CardRing(4);
+        small.addLast(0);
+        small.pollFirst(); // move head away from slot 0
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            small.addLast(ordinal);
+        }
+
+        assertEquals(Card.DECK_SIZE, small.size());
+        for (int i = 0; i < Card.DECK_SIZE; i++) {
+            assertEquals(i, small.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should append another ring to the bottom")
+    void shouldAppendAnotherRingToTheBottom() {
+        CardRing other = new CardRing();
+        other.addLast(5);
+        other.addLast(6);
+        ring.addLast(1);
+
+        ring.addAll(other);
+
+        assertEquals(3, ring.size());
+        assertEquals(1, ring.get(0));
+        assertEquals(5, ring.get(1));
+        assertEquals(6, ring.get(2));
+        assertEquals(2, other.size());
+    }
+
+    @Test
+    @DisplayName("Should append a ring to itself once")
+    void shouldAppendRingToItselfOnce() {
+        CardRing wrapped = new CardRing(4);
+        wrapped.addLast(9);
+        wrapped.addLast(1);
+        wrapped.addLast(2);
+        wrapped.addLast(3);
+        wrapped.pollFirst();
+        wrapped.addLast(4);
+
+        wrapped.addAll(wrapped);
+
+        assertEquals(8, wrapped.size());
+        assertEquals("[1, 2, 3, 4, 1, 2, 3, 4]", wrapped.toString());
+    }
+
+    @Test
+    @DisplayName("Should expose read-only list view reflecting changes")
+    void shouldExposeReadOnlyListViewReflectingChanges() {
+        List<Card> view = ring.asList();
+        ring.addLast(Card.of(1, Suit.COPPE).getOrdinal());
+
+        assertEquals(List.of(Card.of(1, Suit.COPPE)), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(Card.of(2, Suit.ORI)));
+
+        ring.pollFirst();
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw exception for out of range index")
+    void shouldThrowExceptionForOutOfRangeIndex() {
+        ring.addLast(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.get(-1));
+    }
+}
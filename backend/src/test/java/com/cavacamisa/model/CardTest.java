@@ -139,4 +139,34 @@ class CardTest {
         
         assertEquals(expected, card.toString());
     }
+
+    @Test
+    @DisplayName("Should return shared instance from factory")
+    void shouldReturnSharedInstanceFromFactory() {
+        Card card1 = Card.of(5, Suit.COPPE);
+        Card card2 = Card.of(5, Suit.COPPE);
+
+        assertSame(card1, card2);
+        assertEquals(new Card(5, Suit.COPPE), card1);
+    }
+
+    @Test
+    @DisplayName("Should assign a dense unique ordinal to every card")
+    void shouldAssignDenseUniqueOrdinalToEveryCard() {
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            Card card = Card.fromOrdinal(ordinal);
+
+            assertEquals(ordinal, card.getOrdinal());
+            assertSame(card, Card.of(card.getRank(), card.getSuit()));
+            assertEquals(card.isWinningCard(), Card.isWinningOrdinal(ordinal));
+            assertEquals(card.getCardsToPlay(), Card.cardsToPlayForOrdinal(ordinal));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 40, 127})
+    @DisplayName("Should throw exception for invalid ordinal")
+    void shouldThrowExceptionForInvalidOrdinal(int invalidOrdinal) {
+        assertThrows(IllegalArgumentException.class, () -> Card.fromOrdinal(invalidOrdinal));
+    }
 }
@@ -0,0 +1,71 @@
+package com.cavacamisa.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CycleDetectorTest {
+
+    @Test
+    @DisplayName("Should detect the exact length of a cycle after a tail")
+    void shouldDetectExactLengthOfCycleAfterTail() {
+        for (int tail = 0; tail < 20; tail++) {
+            for (int length = 1; length < 50; length++) {
+                CycleDetector detector = new CycleDetector();
+                int steps = 0;
+                // Sequence 0, 1, ..., tail - 1 followed by a loop of the given length
+                while (!detector.step(1000 + (steps < tail ? -steps - 1 : (steps - tail) % length))) {
+                    steps++;
+                    assertTrue(steps < 4 * (tail + length), "cycle not detected in time");
+                }
+                assertEquals(length, detector.getCycleLength());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not report a cycle for distinct states")
+    void shouldNotReportCycleForDistinctStates() {
+        CycleDetector detector = new CycleDetector();
+        for (long hash = 0; hash < 10_000; hash++) {
+            assertFalse(detector.step(hash));
+        }
+        assertEquals(0, detector.getCycleLength());
+    }
+
+    @Test
+    @DisplayName("Should hash pile order and turn counters")
+    void shouldHashPileOrderAndTurnCounters() {
+        CardRing first = new CardRing();
+        first.addLast(1);
+        first.addLast(2);
+        CardRing swapped = new CardRing();
+        swapped.addLast(2);
+        swapped.addLast(1);
+        CardRing empty = new CardRing();
+
+        long hash = CycleDetector.stateHash(first.hash(), empty.hash(), empty.hash(), 0, 0, -1);
+
+        assertNotEquals(hash, CycleDetector.stateHash(swapped.hash(), empty.hash(), empty.hash(), 0, 0, -1));
+        assertNotEquals(hash, CycleDetector.stateHash(empty.hash(), first.hash(), empty.hash(), 0, 0, -1));
+        assertNotEquals(hash, CycleDetector.stateHash(first.hash(), empty.hash(), empty.hash(), 1, 0, -1));
+        assertNotEquals(hash, CycleDetector.stateHash(first.hash(), empty.hash(), empty.hash(), 0, 2, 0));
+    }
+
+    @Test
+    @DisplayName("Should keep ring hash consistent across draws and appends")
+    void shouldKeepRingHashConsistentAcrossDrawsAndAppends() {
+        CardRing ring = new CardRing();
+        ring.addLast(5);
+        ring.addLast(6);
+        ring.addLast(7);
+        ring.pollFirst();
+
+        CardRing expected = new CardRing();
+        expected.addLast(6);
+        expected.addLast(7);
+
+        assertEquals(expected.hash(), ring.hash());
+    }
+}
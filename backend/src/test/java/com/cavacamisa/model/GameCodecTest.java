@@ -0,0 +1,153 @@
+package com.cavacamisa.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a game waiting for players")
+    void shouldRoundTripGameWaitingForPlayers() {
+        Game game = new Game("game");
+        game.addPlayer(new Player("player1", "Player 1"));
+
+        Game decoded = roundTrip(game);
+
+        assertEquals(GameState.WAITING_FOR_PLAYERS, decoded.getState());
+        assertEquals(1, decoded.getPlayers().size());
+        assertEquals(0, decoded.getPlayers().get(0).getDeckSize());
+    }
+
+    @Test
+    @DisplayName("Should encode a dealt game in well under 64 bytes")
+    void shouldEncodeDealtGameInWellUnder64Bytes() {
+        Game game = newDealtGame();
+
+        assertEquals(36, GameCodec.encode(game).length);
+    }
+
+    @Test
+    @DisplayName("Should round-trip randomly played games")
+    void shouldRoundTripRandomlyPlayedGames() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Game game = newDealtGame();
+            int moves = random.nextInt(300);
+            for (int move = 0; move < moves && !game.isGameFinished(); move++) {
+                game.playCard(game.getCurrentPlayer().getId());
+            }
+
+            Game decoded = roundTrip(game);
+
+            assertSameState(game, decoded);
+            assertArrayEquals(GameCodec.encode(game), GameCodec.encode(decoded));
+        }
+    }
+
+    @Test
+    @DisplayName("Should continue a decoded game exactly like the original")
+    void shouldContinueDecodedGameExactlyLikeOriginal() {
+        Game game = newDealtGame();
+        for (int move = 0; move < 25; move++) {
+            game.playCard(game.getCurrentPlayer().getId());
+        }
+        Game decoded = roundTrip(game);
+
+        for (int move = 0; move < 200 && !game.isGameFinished(); move++) {
+            assertTrue(game.playCard(game.getCurrentPlayer().getId()));
+            assertTrue(decoded.playCard(decoded.getCurrentPlayer().getId()));
+            assertSameState(game, decoded);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown format")
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GameCodec.decode(new byte[] {99, 0, 0}, "game", List.of()));
+    }
+
+    @Test
+    @DisplayName("Should reject mismatching player count")
+    void shouldRejectMismatchingPlayerCount() {
+        byte[] encoded = GameCodec.encode(newDealtGame());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GameCodec.decode(encoded, "game", List.of(new Player("player1", "Player 1"))));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated data without touching the players")
+    void shouldRejectTruncatedData() {
+        byte[] encoded = GameCodec.encode(newDealtGame());
+        List<Player> players = List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2"));
+        players.get(0).addCardToDeck(Card.fromOrdinal(7));
+
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(truncated, "game", players));
+        }
+        assertEquals(List.of(Card.fromOrdinal(7)), players.get(0).getDeck());
+    }
+
+    @Test
+    @DisplayName("Should reject card ordinals outside the deck")
+    void shouldRejectCardOrdinalsOutsideDeck() {
+        byte[] encoded = GameCodec.encode(newDealtGame());
+        encoded[encoded.length - 1] = (byte) 0xFF; // The last card becomes ordinal 63
+
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(encoded, "game",
+                List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2"))));
+    }
+
+    @Test
+    @DisplayName("Should not carry the seed, version or creation time")
+    void shouldNotCarrySeedVersionOrCreationTime() {
+        Game game = new Game("game", 7L, 1_000L);
+        game.addPlayer(new Player("player1", "Player 1"));
+        game.addPlayer(new Player("player2", "Player 2"));
+        game.playCard(game.getCurrentPlayer().getId());
+
+        Game decoded = roundTrip(game);
+
+        assertTrue(game.getVersion() > 0);
+        assertEquals(0, decoded.getVersion());
+        assertNotEquals(1_000L, decoded.getCreatedAt());
+    }
+
+    private static Game newDealtGame() {
+        Game game = new Game("game");
+        game.addPlayer(new Player("player1", "Player 1"));
+        game.addPlayer(new Player("player2", "Player 2"));
+        return game;
+    }
+
+    private static Game roundTrip(Game game) {
+        List<Player> players = game.getPlayers().stream()
+                .map(player -> new Player(player.getId(), player.getName()))
+                .toList();
+        return GameCodec.decode(GameCodec.encode(game), game.getId(), players);
+    }
+
+    private static void assertSameState(Game expected, Game actual) {
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getCurrentPlayerIndex(), actual.getCurrentPlayerIndex());
+        assertEquals(expected.getCardsToPlay(), actual.getCardsToPlay());
+        assertEquals(expected.getTableCards(), actual.getTableCards());
+        assertEquals(idOf(expected.getLastWinningPlayer()), idOf(actual.getLastWinningPlayer()));
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            assertEquals(expected.getPlayers().get(i).getId(), actual.getPlayers().get(i).getId());
+            assertEquals(expected.getPlayers().get(i).getDeck(), actual.getPlayers().get(i).getDeck());
+        }
+    }
+
+    private static String idOf(Player player) {
+        return player != null ? player.getId() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.cavacamisa.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameReplayTest {
+
+    @Test
+    @DisplayName("Should give every new game its own seed")
+    void shouldGiveEveryNewGameItsOwnSeed() {
+        Game first = new Game("first");
+        Game second = new Game("second");
+        assertNotEquals(first.getSeed(), second.getSeed());
+    }
+
+    @Test
+    @DisplayName("Should replay a finished game exactly from its record")
+    void shouldReplayFinishedGameExactly() {
+        Game original = new Game("game");
+        original.addPlayer(new Player("player1", "Player 1"));
+        original.addPlayer(new Player("player2", "Player 2"));
+        while (!original.isGameFinished()) {
+            original.playCard(original.getCurrentPlayer().getId());
+        }
+
+        GameReplay record = GameReplay.of(original);
+        assertEquals(original.getVersion(), record.getVersion());
+        assertEquals(original.getVersion() - 2, record.getMoveCount());
+
+        Game replayed = record.replay("game", List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2")));
+        assertEquals(original.getState(), replayed.getState());
+        assertEquals(original.getTableCards(), replayed.getTableCards());
+        assertArrayEquals(GameCodec.encode(original), GameCodec.encode(replayed));
+    }
+
+    @Test
+    @DisplayName("Should reject a record that does not match its seed")
+    void shouldRejectRecordThatDoesNotMatchItsSeed() {
+        GameReplay tampered = new GameReplay(2L, 100, 280); // Seed 2 ends after 280 moves at version 282
+        assertThrows(IllegalStateException.class, () ->
+                tampered.replay("game", List.of(new Player("player1", "Player 1"), new Player("player2", "Player 2"))));
+    }
+}
@@ -36,6 +36,21 @@ class GameTest {
         assertNull(game.getLastWinningPlayer());
     }
 
+    @Test
+    @DisplayName("Should hand out only two seat claims")
+    void shouldHandOutOnlyTwoSeatClaims() {
+        assertTrue(game.claimSeat());
+        assertTrue(game.claimSeat());
+        assertFalse(game.claimSeat());
+        assertEquals(0, game.getOpenSeats());
+
+        assertTrue(game.addPlayer(player1));
+        game.releaseSeat();
+        assertEquals(1, game.getOpenSeats());
+        game.releaseSeat();
+        assertEquals(1, game.getOpenSeats()); // A seated player keeps their seat
+    }
+
     @Test
     @DisplayName("Should add first player successfully")
     void shouldAddFirstPlayerSuccessfully() {
@@ -276,6 +291,94 @@ class GameTest {
         assertEquals(0, game.getTableCards().size());
     }
 
+    @Test
+    @DisplayName("Should bump version on every join and move only")
+    void shouldBumpVersionOnEveryJoinAndMoveOnly() {
+        assertEquals(0, game.getVersion());
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        assertEquals(2, game.getVersion());
+
+        assertFalse(game.playCard("player2")); // Out of turn: no change
+        assertEquals(2, game.getVersion());
+
+        assertTrue(game.playCard("player1"));
+        assertEquals(3, game.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should return the events after a version")
+    void shouldReturnEventsAfterVersion() {
+        game.addPlayer(player1);
+        game.addPlayer(player2);
+        Card topCard = player1.getDeck().get(0);
+        game.playCard("player1");
+
+        List<GameEvent> events = game.getEventsSince(1);
+        assertEquals(2, events.size());
+        assertEquals(GameEvent.Type.PLAYER_JOINED, events.get(0).getType());
+        assertEquals(1, events.get(0).getPlayerIndex());
+
+        GameEvent played = events.get(1);
+        assertEquals(3, played.getVersion());
+        assertEquals(GameEvent.Type.CARD_PLAYED, played.getType());
+        assertEquals(0, played.getPlayerIndex());
+        assertEquals(topCard, played.getCard());
+        assertEquals(game.getCurrentPlayerIndex(), played.getCurrentPlayerIndex());
+        assertEquals(game.getCardsToPlay(), played.getCardsToPlay());
+        assertEquals(GameState.PLAYING, played.getState());
+
+        assertTrue(game.getEventsSince(3).isEmpty());
+        assertNull(game.getEventsSince(4)); // Not reached yet
+    }
+
+    @Test
+    @DisplayName("Should report captures in the event log and forget old events")
+    void shouldReportCapturesAndForgetOldEvents() {
+        Game seeded = new Game("seeded-game", 2L); // Lasts well over 100 moves
+        seeded.addPlayer(player1);
+        seeded.addPlayer(player2);
+        int captures = 0;
+        for (int move = 0; move < 100; move++) {
+            long before = seeded.getVersion();
+            int capturedCards = seeded.getTableCards().size() + 1;
+            assertTrue(seeded.playCard(seeded.getCurrentPlayer().getId()));
+            GameEvent event = seeded.getEventsSince(before).get(0);
+            if (event.getCapturedBy() >= 0) {
+                captures++;
+                assertEquals(capturedCards, event.getCapturedCount());
+                assertTrue(seeded.getTableCards().isEmpty());
+            }
+        }
+        assertTrue(captures > 0);
+        assertNull(seeded.getEventsSince(0)); // Older than the retained history
+    }
+
+    @Test
+    @DisplayName("Should end in a draw when the game state repeats")
+    void shouldEndInDrawWhenGameStateRepeats() {
+        // Known looping position: the same 6 cards keep changing hands every 12 moves
+        player1.addCardToDeck(Card.of(7, Suit.BASTONI));
+        player1.addCardToDeck(Card.of(1, Suit.SPADE));
+        player2.addCardToDeck(Card.of(9, Suit.SPADE));
+        player2.addCardToDeck(Card.of(8, Suit.COPPE));
+        player2.addCardToDeck(Card.of(1, Suit.COPPE));
+        player2.addCardToDeck(Card.of(10, Suit.ORI));
+        game.restore(List.of(player1, player2), List.of(), GameState.PLAYING, 0, 0, null);
+
+        int moves = 0;
+        while (game.getState() == GameState.PLAYING && moves < 1000) {
+            assertTrue(game.playCard(game.getCurrentPlayer().getId()));
+            moves++;
+        }
+
+        assertEquals(GameState.DRAW_CYCLE, game.getState());
+        assertEquals(12, game.getCycleLength());
+        assertTrue(game.isGameFinished());
+        assertNull(game.getWinner());
+        assertFalse(game.playCard(game.getCurrentPlayer().getId()));
+    }
+
     @Test
     @DisplayName("Should return correct string representation")
     void shouldReturnCorrectStringRepresentation() {
@@ -147,6 +147,20 @@ class PlayerTest {
         assertTrue(player.hasCards());
     }
 
+    @Test
+    @DisplayName("Should expose read-only view of deck")
+    void shouldExposeReadOnlyViewOfDeck() {
+        Card card = new Card(1, Suit.COPPE);
+        player.addCardToDeck(card);
+
+        List<Card> deckView = player.getDeckView();
+
+        assertEquals(List.of(card), deckView);
+        assertThrows(UnsupportedOperationException.class, deckView::clear);
+        player.drawCard();
+        assertTrue(deckView.isEmpty());
+    }
+
     @Test
     @DisplayName("Should handle multiple draw operations correctly")
     void shouldHandleMultipleDrawOperationsCorrectly() {
@@ -0,0 +1,103 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.model.Game;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResponseCacheTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final GameResponseCache cache = new GameResponseCache(mapper, registry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<CompletableFuture<GameDto>> loader(CompletableFuture<GameDto> snapshot) {
+        return () -> {
+            loads.incrementAndGet();
+            return snapshot;
+        };
+    }
+
+    private double count(String result) {
+        return registry.counter("cavacamisa.game.response.cache", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Should build each version once for concurrent readers")
+    void shouldBuildEachVersionOnceForConcurrentReaders() throws Exception {
+        CompletableFuture<GameDto> snapshot = new CompletableFuture<>();
+        int readers = 64;
+        List<CompletableFuture<byte[]>> reads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<CompletableFuture<CompletableFuture<byte[]>>> started = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                started.add(CompletableFuture.supplyAsync(() -> cache.get("g", loader(snapshot)), executor));
+            }
+            for (CompletableFuture<CompletableFuture<byte[]>> read : started) {
+                reads.add(read.join());
+            }
+        }
+        assertTrue(reads.stream().noneMatch(CompletableFuture::isDone));
+
+        snapshot.complete(new GameDto(new Game("g"), false));
+
+        byte[] first = reads.get(0).join();
+        assertTrue(reads.stream().allMatch(read -> read.join() == first));
+        assertEquals("g", mapper.readValue(first, GameDto.class).getId());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, count("miss"));
+        assertEquals(readers - 1.0, count("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Should encode the handed-over snapshot and ignore older versions")
+    void shouldEncodeHandedOverSnapshotAndIgnoreOlderVersions() throws Exception {
+        Game game = new Game("g");
+        CompletableFuture<GameDto> unused = new CompletableFuture<>();
+        byte[] loaded = cache.get("g", loader(CompletableFuture.completedFuture(new GameDto(game, false)))).join();
+
+        GameDto newer = new GameDto(game, false);
+        newer.setVersion(5);
+        cache.update("g", 5, newer);
+        GameDto older = new GameDto(game, false);
+        older.setVersion(4);
+        cache.update("g", 4, older);
+
+        byte[] updated = cache.get("g", loader(unused)).join();
+        assertNotSame(loaded, updated);
+        assertEquals(5, mapper.readValue(updated, GameDto.class).getVersion());
+        assertSame(updated, cache.get("g", loader(unused)).join());
+        assertEquals(1, loads.get()); // Only the first read had nothing handed over
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed build on the next read")
+    void shouldRetryFailedBuildOnNextRead() {
+        CompletableFuture<byte[]> failed = cache.get("g",
+                loader(CompletableFuture.failedFuture(new IllegalArgumentException("Game not found: g"))));
+        CompletionException failure = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+
+        byte[] bytes = cache.get("g", loader(CompletableFuture.completedFuture(new GameDto(new Game("g"), false)))).join();
+
+        assertTrue(bytes.length > 0);
+        assertEquals(2, loads.get());
+        assertEquals(2.0, count("miss"));
+    }
+}
@@ -1,12 +1,27 @@
 package com.cavacamisa.service;
 
+import com.cavacamisa.config.CavacamisaProperties;
 import com.cavacamisa.dto.*;
 import com.cavacamisa.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,6 +29,9 @@ class GameServiceTest {
 
     private GameService gameService;
 
+    @TempDir
+    Path journalDirectory;
+
     @BeforeEach
     void setUp() {
         gameService = new GameService();
@@ -61,6 +79,152 @@ class GameServiceTest {
         assertTrue(allGames.stream().anyMatch(g -> g.getId().equals(game2.getId())));
     }
 
+    @Test
+    @DisplayName("Should page, filter and stream the game list")
+    void shouldPageFilterAndStreamGameList() {
+        GameDto waiting = gameService.createGame();
+        GameDto playing = gameService.createGame();
+        GameDto joined = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        request.setName("Player 3");
+        PlayerDto player3 = gameService.createPlayer(request);
+        gameService.joinGame(playing.getId(), player1.getId());
+        gameService.joinGame(playing.getId(), player2.getId());
+        gameService.joinGame(joined.getId(), player3.getId());
+
+        GamePageDto first = gameService.listGames(GameFilter.all(), null, 2);
+        assertEquals(2, first.getGames().size());
+        assertNotNull(first.getNextCursor());
+        GamePageDto second = gameService.listGames(GameFilter.all(), first.getNextCursor(), 2);
+        assertEquals(1, second.getGames().size());
+        assertNull(second.getNextCursor());
+        List<String> paged = Stream.concat(first.getGames().stream(), second.getGames().stream())
+                .map(GameSummaryDto::getId)
+                .toList();
+        assertEquals(List.of(waiting.getId(), playing.getId(), joined.getId()).stream().sorted().toList(),
+                paged.stream().sorted().toList());
+
+        List<GameSummaryDto> inProgress = gameService.listGames(
+                new GameFilter(GameState.PLAYING, null, null, null), null, 10).getGames();
+        assertEquals(1, inProgress.size());
+        assertEquals(playing.getId(), inProgress.get(0).getId());
+        assertEquals(2, inProgress.get(0).getPlayers().size());
+
+        List<GameSummaryDto> byPlayer = gameService.listGames(
+                new GameFilter(null, player3.getId(), null, null), null, 10).getGames();
+        assertEquals(1, byPlayer.size());
+        assertEquals(joined.getId(), byPlayer.get(0).getId());
+
+        assertEquals(paged, gameService.streamGames(GameFilter.all(), null)
+                .map(GameSummaryDto::getId).collect(Collectors.toList()));
+        Instant now = Instant.now();
+        assertEquals(0, gameService.streamGames(new GameFilter(null, null, now.plusSeconds(60), null), null).count());
+        assertEquals(0, gameService.streamGames(new GameFilter(null, null, null, now.minusSeconds(60)), null).count());
+        assertEquals(3, gameService.streamGames(new GameFilter(null, null, now.minusSeconds(60), now.plusSeconds(60)), null).count());
+
+        assertThrows(IllegalStateException.class, () -> gameService.listGames(GameFilter.all(), "not a cursor", 10));
+        assertThrows(IllegalStateException.class, () -> gameService.listGames(GameFilter.all(), null, 0));
+    }
+
+    @Test
+    @DisplayName("Should list only games with a free seat as open")
+    void shouldListOnlyGamesWithFreeSeatAsOpen() {
+        GameDto empty = gameService.createGame();
+        GameDto full = gameService.createGame();
+        GameDto halfFull = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        gameService.joinGame(full.getId(), player1.getId());
+        gameService.joinGame(full.getId(), player2.getId());
+        gameService.joinGame(halfFull.getId(), player1.getId());
+
+        GamePageDto first = gameService.listOpenGames(null, 1);
+        assertEquals(1, first.getGames().size());
+        assertNotNull(first.getNextCursor());
+        GamePageDto second = gameService.listOpenGames(first.getNextCursor(), 1);
+        assertEquals(1, second.getGames().size());
+        assertNull(second.getNextCursor());
+        List<String> open = Stream.concat(first.getGames().stream(), second.getGames().stream())
+                .map(GameSummaryDto::getId)
+                .sorted()
+                .toList();
+        assertEquals(Stream.of(empty.getId(), halfFull.getId()).sorted().toList(), open);
+
+        gameService.joinGame(halfFull.getId(), player2.getId());
+        List<GameSummaryDto> remaining = gameService.listOpenGames(null, 10).getGames();
+        assertEquals(1, remaining.size());
+        assertEquals(empty.getId(), remaining.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should deal a game to two players from matchmaking")
+    void shouldDealGameToTwoPlayersFromMatchmaking() {
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        request.setName("Player 3");
+        PlayerDto player3 = gameService.createPlayer(request);
+
+        CompletableFuture<GameDto> first = gameService.enqueueForMatchAsync(player1.getId());
+        assertFalse(first.isDone());
+        assertEquals(1, gameService.getMatchmakingDepth());
+        GameDto matched = gameService.enqueueForMatchAsync(player2.getId()).join();
+
+        assertEquals(matched.getId(), first.join().getId());
+        assertEquals(2, matched.getPlayers().size());
+        assertEquals("Game in progress", matched.getState());
+        assertEquals(matched.getId(), gameService.getMatchAsync(player1.getId()).join().getId());
+        assertTrue(gameService.listOpenGames(null, 10).getGames().isEmpty());
+        assertEquals(0, gameService.getMatchmakingDepth());
+        assertThrows(IllegalStateException.class, () -> gameService.cancelMatch(player1.getId()));
+
+        CompletableFuture<GameDto> waiting = gameService.enqueueForMatchAsync(player3.getId());
+        gameService.cancelMatch(player3.getId());
+        assertTrue(waiting.isCompletedExceptionally());
+        assertEquals(0, gameService.getMatchmakingDepth());
+        assertThrows(IllegalArgumentException.class, () -> gameService.cancelMatch("unknown"));
+        assertTrue(gameService.enqueueForMatchAsync("unknown").isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should seat exactly two of many concurrent joins")
+    void shouldSeatExactlyTwoOfManyConcurrentJoins() {
+        GameDto game = gameService.createGame();
+        List<String> playerIds = IntStream.range(0, 16)
+                .mapToObj(i -> {
+                    CreatePlayerRequest request = new CreatePlayerRequest();
+                    request.setName("Player " + i);
+                    return gameService.createPlayer(request).getId();
+                })
+                .toList();
+
+        List<CompletableFuture<Boolean>> joins = playerIds.stream()
+                .map(playerId -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        gameService.joinGame(game.getId(), playerId);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }))
+                .toList();
+
+        long seated = joins.stream().filter(CompletableFuture::join).count();
+        assertEquals(2, seated);
+        GameDto joined = gameService.getGame(game.getId());
+        assertEquals(2, joined.getPlayers().size());
+        assertTrue(gameService.listOpenGames(null, 10).getGames().isEmpty());
+    }
+
     @Test
     @DisplayName("Should create player successfully")
     void shouldCreatePlayerSuccessfully() {
@@ -179,6 +343,36 @@ class GameServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should seat exactly two of many concurrent joiners")
+    void shouldSeatExactlyTwoOfManyConcurrentJoiners() {
+        GameDto game = gameService.createGame();
+        List<String> playerIds = IntStream.range(0, 32)
+                .mapToObj(i -> gameService.createPlayer(new CreatePlayerRequest("Player " + i)).getId())
+                .toList();
+
+        List<CompletableFuture<GameDto>> joins = playerIds.parallelStream()
+                .map(playerId -> gameService.joinGameAsync(game.getId(), playerId))
+                .toList();
+        long seated = joins.stream()
+                .filter(join -> {
+                    try {
+                        join.join();
+                        return true;
+                    } catch (CompletionException e) {
+                        assertInstanceOf(IllegalStateException.class, e.getCause());
+                        return false;
+                    }
+                })
+                .count();
+
+        assertEquals(2, seated);
+        GameDto started = gameService.getGame(game.getId());
+        assertEquals(2, started.getPlayers().size());
+        assertEquals(20, started.getPlayers().get(0).getDeckSize());
+        assertEquals(20, started.getPlayers().get(1).getDeckSize());
+    }
+
     @Test
     @DisplayName("Should play card successfully")
     void shouldPlayCardSuccessfully() {
@@ -205,6 +399,583 @@ class GameServiceTest {
         assertEquals(1, updatedGame.getTableCards().size()); // 1 card on table
     }
 
+    @Test
+    @DisplayName("Should serve cached game JSON until the game changes")
+    void shouldServeCachedGameJsonUntilGameChanges() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        GameService service = new GameService(new CavacamisaProperties(), new GameUpdateBroadcaster(), registry);
+        ObjectMapper mapper = new ObjectMapper();
+        try {
+            GameDto game = service.createGame();
+            byte[] created = service.getGameJsonAsync(game.getId()).join();
+            assertSame(created, service.getGameJsonAsync(game.getId()).join());
+            assertEquals(game.getVersion(), mapper.readValue(created, GameDto.class).getVersion());
+
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player = service.createPlayer(request);
+            GameDto joined = service.joinGame(game.getId(), player.getId());
+
+            byte[] afterJoin = service.getGameJsonAsync(game.getId()).join();
+            assertNotSame(created, afterJoin);
+            GameDto read = mapper.readValue(afterJoin, GameDto.class);
+            assertEquals(joined.getVersion(), read.getVersion());
+            assertEquals(player.getId(), read.getPlayers().get(0).getId());
+
+            assertEquals(2.0, registry.counter("cavacamisa.game.response.cache", "result", "miss").count());
+            assertEquals(1.0, registry.counter("cavacamisa.game.response.cache", "result", "hit").count());
+
+            service.deleteGame(game.getId());
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> service.getGameJsonAsync(game.getId()).join());
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hide deck contents unless the deck view is enabled")
+    void shouldHideDeckContentsUnlessDeckViewIsEnabled() {
+        GameDto game = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player = gameService.createPlayer(request);
+        
+        GameDto joined = gameService.joinGame(game.getId(), player.getId());
+        assertNull(joined.getPlayers().get(0).getDeck());
+        assertFalse(gameService.isDeckViewEnabled());
+        CompletionException disabled = assertThrows(CompletionException.class,
+                () -> gameService.getGameWithDecksAsync(game.getId()).join());
+        assertInstanceOf(IllegalStateException.class, disabled.getCause());
+        
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getDebug().setExposeDecks(true);
+        GameService debugService = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        try {
+            GameDto debugGame = debugService.createGame();
+            PlayerDto debugPlayer = debugService.createPlayer(request);
+            debugService.joinGame(debugGame.getId(), debugPlayer.getId());
+            assertNotNull(debugService.getGameWithDecksAsync(debugGame.getId()).join().getPlayers().get(0).getDeck());
+        } finally {
+            debugService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a game that moved while its eviction was queued")
+    void shouldKeepGameThatMovedWhileItsEvictionWasQueued() throws Exception {
+        HoldingBroadcaster broadcaster = new HoldingBroadcaster();
+        GameService service = new GameService(new CavacamisaProperties(), broadcaster, new SimpleMeterRegistry());
+        try {
+            GameDto game = service.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            service.joinGame(game.getId(), player1.getId());
+
+            // The second join holds the shard in its push, with a move queued behind it
+            broadcaster.hold();
+            CompletableFuture<GameDto> join = service.joinGameAsync(game.getId(), player2.getId());
+            broadcaster.awaitHeld();
+            PlayCardRequest play = new PlayCardRequest();
+            play.setPlayerId(player1.getId());
+            CompletableFuture<GameDto> move = service.playCardAsync(game.getId(), play);
+
+            // The join's deadline passes: the eviction is queued after the move
+            CompletableFuture<Void> eviction = service.evictExpired(GameService.now() + TimeUnit.MINUTES.toMillis(31));
+            broadcaster.release();
+            join.join();
+            move.join();
+            eviction.join();
+
+            assertTrue(service.gameExists(game.getId()));
+            assertEquals(1, service.getGame(game.getId()).getTableCards().size());
+        } finally {
+            broadcaster.release();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not seat a player evicted while its join was queued")
+    void shouldNotSeatPlayerEvictedWhileItsJoinWasQueued() throws Exception {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getEviction().setWaitingTtl(java.time.Duration.ofHours(2));
+        HoldingBroadcaster broadcaster = new HoldingBroadcaster();
+        GameService service = new GameService(properties, broadcaster, new SimpleMeterRegistry());
+        try {
+            GameDto game = service.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+
+            broadcaster.hold();
+            CompletableFuture<GameDto> first = service.joinGameAsync(game.getId(), player1.getId());
+            broadcaster.awaitHeld();
+            CompletableFuture<GameDto> second = service.joinGameAsync(game.getId(), player2.getId());
+
+            // Past the orphaned-player TTL: the first player is seated already, the second only queued
+            service.evictExpired(GameService.now() + TimeUnit.MINUTES.toMillis(31)).join();
+            broadcaster.release();
+
+            first.join();
+            CompletionException failure = assertThrows(CompletionException.class, second::join);
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertTrue(service.playerExists(player1.getId()));
+            assertFalse(service.playerExists(player2.getId()));
+            GameDto after = service.getGame(game.getId());
+            assertEquals(1, after.getPlayers().size());
+            assertEquals(List.of(game.getId()), service.listOpenGames(null, 10).getGames().stream()
+                    .map(GameSummaryDto::getId).toList()); // The seat is free again
+        } finally {
+            broadcaster.release();
+            service.shutdown();
+        }
+    }
+
+    // Holds the shard inside the next push until released, so tests can queue work behind it
+    private static final class HoldingBroadcaster extends GameUpdateBroadcaster {
+        private final java.util.concurrent.CountDownLatch held = new java.util.concurrent.CountDownLatch(1);
+        private final java.util.concurrent.CountDownLatch released = new java.util.concurrent.CountDownLatch(1);
+        private volatile boolean holding;
+
+        void hold() {
+            holding = true;
+        }
+
+        void awaitHeld() throws InterruptedException {
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public void publish(String gameId, long sequence, GameDto snapshot) {
+            if (holding) {
+                holding = false;
+                held.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.publish(gameId, sequence, snapshot);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not evict a player lent to another node until it is returned")
+    void shouldNotEvictLentPlayerUntilReturned() {
+        GameService service = new GameService();
+        try {
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Lent");
+            PlayerDto lent = service.createPlayer(request);
+            service.lendPlayer(lent.getId());
+
+            long start = GameService.now();
+            service.evictExpired(start + TimeUnit.MINUTES.toMillis(31)).join();
+            assertTrue(service.playerExists(lent.getId()));
+
+            service.returnPlayer(lent.getId()); // A full orphaned-player TTL from now
+            service.evictExpired(start + TimeUnit.MINUTES.toMillis(62)).join();
+            assertFalse(service.playerExists(lent.getId()));
+            assertThrows(IllegalArgumentException.class, () -> service.lendPlayer(lent.getId()));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict idle games by state and then their orphaned players")
+    void shouldEvictIdleGamesAndOrphanedPlayers() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        GameService service = new GameService(new CavacamisaProperties(), new GameUpdateBroadcaster(), registry);
+        try {
+            GameDto waiting = service.createGame();
+            GameDto playing = service.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            service.joinGame(playing.getId(), player1.getId());
+            service.joinGame(playing.getId(), player2.getId());
+
+            // Past the 10 minute waiting TTL, within the 30 minute playing-idle TTL
+            long start = GameService.now();
+            service.evictExpired(start + TimeUnit.MINUTES.toMillis(11)).join();
+            assertFalse(service.gameExists(waiting.getId()));
+            assertTrue(service.gameExists(playing.getId()));
+            assertEquals(1.0, registry.counter("cavacamisa.games.evicted", "state", "waiting").count());
+
+            // Seated players are kept as long as their game lives
+            service.evictExpired(start + TimeUnit.MINUTES.toMillis(31)).join();
+            assertFalse(service.gameExists(playing.getId()));
+            assertTrue(service.playerExists(player1.getId()));
+            assertEquals(1.0, registry.counter("cavacamisa.games.evicted", "state", "playing").count());
+
+            service.evictExpired(start + TimeUnit.MINUTES.toMillis(62)).join();
+            assertFalse(service.playerExists(player1.getId()));
+            assertFalse(service.playerExists(player2.getId()));
+            assertEquals(2.0, registry.counter("cavacamisa.players.evicted").count());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count operations, games by state and game length")
+    void shouldRecordGameMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        GameService service = new GameService(new CavacamisaProperties(), new GameUpdateBroadcaster(), registry);
+        try {
+            GameDto game = service.createGame();
+            assertEquals(1.0, registry.get("cavacamisa.games.state").tag("state", "waiting_for_players").gauge().value());
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            assertEquals(2.0, registry.get("cavacamisa.players").gauge().value());
+            assertNull(registry.find("cavacamisa.players.live").gauge());
+            assertNull(registry.find("cavacamisa.games.live").gauge());
+            service.joinGame(game.getId(), player1.getId());
+            GameDto current = service.joinGame(game.getId(), player2.getId());
+            assertEquals(0.0, registry.get("cavacamisa.games.state").tag("state", "waiting_for_players").gauge().value());
+            assertEquals(1.0, registry.get("cavacamisa.games.state").tag("state", "playing").gauge().value());
+
+            int moves = 0;
+            while (!current.isGameFinished()) {
+                PlayCardRequest playRequest = new PlayCardRequest();
+                playRequest.setPlayerId(current.getPlayers().get(current.getCurrentPlayerIndex()).getId());
+                current = service.playCard(game.getId(), playRequest);
+                moves++;
+                if (moves == 1) {
+                    assertEquals(1.0, registry.get("cavacamisa.table.cards.average").gauge().value());
+                }
+            }
+
+            assertEquals(1.0, registry.get("cavacamisa.games.created").counter().count());
+            assertEquals(2.0, registry.get("cavacamisa.games.joined").counter().count());
+            assertEquals(moves, registry.get("cavacamisa.moves").counter().count());
+            assertEquals(0.0, registry.get("cavacamisa.games.state").tag("state", "playing").gauge().value());
+            assertEquals(0.0, registry.get("cavacamisa.table.cards.average").gauge().value());
+            assertEquals(1.0, registry.get("cavacamisa.games.state").tag("state", "finished").gauge().value()
+                    + registry.get("cavacamisa.games.state").tag("state", "draw_cycle").gauge().value());
+            assertEquals(1, registry.get("cavacamisa.game.length").summary().count());
+            assertEquals(moves, registry.get("cavacamisa.game.length").summary().totalAmount());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore games from the journal after a restart")
+    void shouldRestoreGamesFromJournalAfterRestart() {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(journalDirectory.toString());
+
+        GameService before = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        GameDto expected;
+        String deletedGameId;
+        try {
+            GameDto game = before.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = before.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = before.createPlayer(request);
+            before.joinGame(game.getId(), player1.getId());
+            GameDto current = before.joinGame(game.getId(), player2.getId());
+            for (int move = 0; move < 25 && !current.isGameFinished(); move++) {
+                PlayCardRequest playRequest = new PlayCardRequest();
+                playRequest.setPlayerId(current.getPlayers().get(current.getCurrentPlayerIndex()).getId());
+                current = before.playCard(game.getId(), playRequest);
+            }
+            expected = current;
+            deletedGameId = before.createGame().getId();
+            before.deleteGame(deletedGameId);
+        } finally {
+            before.shutdown();
+        }
+
+        GameService after = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        try {
+            GameDto restored = after.getGame(expected.getId());
+            assertEquals(expected.getVersion(), restored.getVersion());
+            assertEquals(expected.getState(), restored.getState());
+            assertEquals(expected.getCurrentPlayerIndex(), restored.getCurrentPlayerIndex());
+            assertEquals(expected.getCardsToPlay(), restored.getCardsToPlay());
+            assertEquals(expected.getPlayers().get(0).getDeckSize(), restored.getPlayers().get(0).getDeckSize());
+            assertEquals(expected.getTableCards().size(), restored.getTableCards().size());
+            assertTrue(after.playerExists(expected.getPlayers().get(1).getId()));
+            assertFalse(after.gameExists(deletedGameId));
+            List<GameSummaryDto> listed = after.listGames(GameFilter.all(), null, 10).getGames();
+            assertEquals(1, listed.size());
+            assertEquals(expected.getId(), listed.get(0).getId());
+        } finally {
+            after.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore clustered games and players from the journal after a restart")
+    void shouldRestoreClusteredGamesFromJournalAfterRestart() {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(journalDirectory.toString());
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setNodeId("node1");
+        properties.getCluster().setNodes(java.util.Map.of("node1", "http://node1:8080", "node2", "http://node2:8080"));
+
+        GameService before = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        GameDto expected;
+        String adoptedId = "node2." + java.util.UUID.randomUUID();
+        try {
+            GameDto game = before.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = before.createPlayer(request);
+            before.adoptPlayer(adoptedId, "Player 2"); // Created on the other node
+            before.joinGame(game.getId(), player1.getId());
+            GameDto current = before.joinGame(game.getId(), adoptedId);
+            for (int move = 0; move < 10 && !current.isGameFinished(); move++) {
+                PlayCardRequest playRequest = new PlayCardRequest();
+                playRequest.setPlayerId(current.getPlayers().get(current.getCurrentPlayerIndex()).getId());
+                current = before.playCard(game.getId(), playRequest);
+            }
+            expected = current;
+        } finally {
+            before.shutdown();
+        }
+
+        GameService after = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        try {
+            assertTrue(expected.getId().startsWith("node1."));
+            GameDto restored = after.getGame(expected.getId());
+            assertEquals(expected.getVersion(), restored.getVersion());
+            assertEquals(expected.getTableCards().size(), restored.getTableCards().size());
+            assertEquals(expected.getPlayers().get(0).getId(), restored.getPlayers().get(0).getId());
+            assertEquals(adoptedId, restored.getPlayers().get(1).getId());
+            assertEquals("Player 2", after.getPlayer(adoptedId).getName());
+        } finally {
+            after.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should only serve replay records of finished games")
+    void shouldOnlyServeReplayRecordsOfFinishedGames() {
+        GameDto game = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        gameService.joinGame(game.getId(), player1.getId());
+        GameDto current = gameService.joinGame(game.getId(), player2.getId());
+
+        CompletionException unfinished = assertThrows(CompletionException.class,
+                () -> gameService.getReplayAsync(game.getId()).join());
+        assertInstanceOf(IllegalStateException.class, unfinished.getCause());
+
+        while (!current.isGameFinished()) {
+            PlayCardRequest playRequest = new PlayCardRequest();
+            playRequest.setPlayerId(current.getPlayers().get(current.getCurrentPlayerIndex()).getId());
+            current = gameService.playCard(game.getId(), playRequest);
+        }
+        GameReplayDto replay = gameService.getReplayAsync(game.getId()).join();
+        assertEquals(current.getVersion(), replay.getVersion());
+        assertEquals(current.getVersion() - 2, replay.getMoveCount());
+
+        Game replayed = replay.toReplay().replay(game.getId(),
+                List.of(new Player(player1.getId(), "Player 1"), new Player(player2.getId(), "Player 2")));
+        assertEquals(current.getState(), replayed.getState().getDisplayName());
+    }
+
+    @Test
+    @DisplayName("Should return move events as delta and a snapshot after joins")
+    void shouldReturnDeltaForMovesAndSnapshotAfterJoins() {
+        GameDto game = gameService.createGame();
+        CreatePlayerRequest request1 = new CreatePlayerRequest();
+        request1.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request1);
+        CreatePlayerRequest request2 = new CreatePlayerRequest();
+        request2.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request2);
+        gameService.joinGame(game.getId(), player1.getId());
+        GameDto started = gameService.joinGame(game.getId(), player2.getId());
+        assertEquals(2, started.getVersion());
+
+        PlayCardRequest playRequest = new PlayCardRequest();
+        playRequest.setPlayerId(player1.getId());
+        GameDto afterMove = gameService.playCard(game.getId(), playRequest);
+
+        GameDeltaDto delta = gameService.getDelta(game.getId(), started.getVersion());
+        assertNull(delta.getSnapshot());
+        assertEquals(2, delta.getFromVersion());
+        assertEquals(3, delta.getToVersion());
+        assertEquals(1, delta.getEvents().size());
+        GameEventDto event = delta.getEvents().get(0);
+        assertEquals("CARD_PLAYED", event.getType());
+        assertEquals(afterMove.getTableCards().get(0).getRank(), event.getCard() % 10 + 1);
+
+        GameDeltaDto fromStart = gameService.getDelta(game.getId(), 0);
+        assertNull(fromStart.getEvents());
+        assertEquals(3, fromStart.getSnapshot().getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> gameService.getDelta("non-existent-game", 0));
+    }
+
+    @Test
+    @DisplayName("Should play a batch of cards until the turn passes")
+    void shouldPlayBatchUntilTurnPasses() {
+        GameDto game = gameService.createGame();
+        CreatePlayerRequest request = new CreatePlayerRequest();
+        request.setName("Player 1");
+        PlayerDto player1 = gameService.createPlayer(request);
+        request.setName("Player 2");
+        PlayerDto player2 = gameService.createPlayer(request);
+        gameService.joinGame(game.getId(), player1.getId());
+        GameDto started = gameService.joinGame(game.getId(), player2.getId());
+        String first = started.getPlayers().get(started.getCurrentPlayerIndex()).getId();
+
+        // The opening card always hands the turn over, whether it is a plain or a winning card
+        MoveBatchDto batch = gameService.playBatchAsync(game.getId(), new PlayBatchRequest(first, 10)).join();
+        assertEquals(MoveBatchDto.StopReason.TURN_PASSED, batch.getStopReason());
+        assertEquals(1, batch.getCardsPlayed());
+        assertEquals(started.getVersion(), batch.getFromVersion());
+        assertEquals(batch.getFromVersion() + 1, batch.getToVersion());
+        assertEquals(1, batch.getEvents().size());
+        assertEquals(1, gameService.getGame(game.getId()).getTableCards().size());
+
+        CompletionException notYourTurn = assertThrows(CompletionException.class,
+                () -> gameService.playBatchAsync(game.getId(), new PlayBatchRequest(first, 10)).join());
+        assertInstanceOf(IllegalStateException.class, notYourTurn.getCause());
+        CompletionException tooMany = assertThrows(CompletionException.class,
+                () -> gameService.playBatchAsync(game.getId(), new PlayBatchRequest(first, 65)).join());
+        assertInstanceOf(IllegalStateException.class, tooMany.getCause());
+    }
+
+    @Test
+    @DisplayName("Should publish the moves a batch applied before one of them failed")
+    void shouldPublishMovesAppliedBeforeBatchFailed() {
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getDebug().setFastForward(true);
+        FailingMovesRegistry registry = new FailingMovesRegistry();
+        List<Long> published = new java.util.concurrent.CopyOnWriteArrayList<>();
+        GameService service = new GameService(properties, new GameUpdateBroadcaster() {
+            @Override
+            public void publish(String gameId, long sequence, GameDto snapshot) {
+                published.add(sequence);
+                super.publish(gameId, sequence, snapshot);
+            }
+        }, registry);
+        try {
+            GameDto game = service.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            service.joinGame(game.getId(), player1.getId());
+            GameDto started = service.joinGame(game.getId(), player2.getId());
+
+            registry.movesUntilFailure.set(3);
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> service.fastForwardAsync(game.getId()).join());
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+            // The third card was on the table before its counter threw
+            long version = service.getGame(game.getId()).getVersion();
+            assertEquals(started.getVersion() + 3, version);
+            assertEquals(version, published.get(published.size() - 1).longValue());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // Fails the moves counter on demand: recording a move then throws after the card was played
+    private static final class FailingMovesRegistry extends SimpleMeterRegistry {
+        final java.util.concurrent.atomic.AtomicInteger movesUntilFailure = new java.util.concurrent.atomic.AtomicInteger(-1);
+
+        @Override
+        protected Counter newCounter(Meter.Id id) {
+            Counter counter = super.newCounter(id);
+            if (!id.getName().equals("cavacamisa.moves")) {
+                return counter;
+            }
+            return new Counter() {
+                @Override
+                public void increment(double amount) {
+                    if (movesUntilFailure.decrementAndGet() == 0) {
+                        throw new IllegalStateException("Moves counter failed");
+                    }
+                    counter.increment(amount);
+                }
+
+                @Override
+                public double count() {
+                    return counter.count();
+                }
+
+                @Override
+                public Meter.Id getId() {
+                    return counter.getId();
+                }
+            };
+        }
+    }
+
+    @Test
+    @DisplayName("Should fast-forward a game to the end only when enabled")
+    void shouldFastForwardGameOnlyWhenEnabled() {
+        GameDto disabled = gameService.createGame();
+        CompletionException forbidden = assertThrows(CompletionException.class,
+                () -> gameService.fastForwardAsync(disabled.getId()).join());
+        assertInstanceOf(IllegalStateException.class, forbidden.getCause());
+
+        CavacamisaProperties properties = new CavacamisaProperties();
+        properties.getDebug().setFastForward(true);
+        GameService service = new GameService(properties, new GameUpdateBroadcaster(), new SimpleMeterRegistry());
+        try {
+            GameDto game = service.createGame();
+            CompletionException notStarted = assertThrows(CompletionException.class,
+                    () -> service.fastForwardAsync(game.getId()).join());
+            assertInstanceOf(IllegalStateException.class, notStarted.getCause());
+
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            service.joinGame(game.getId(), player1.getId());
+            service.joinGame(game.getId(), player2.getId());
+
+            MoveBatchDto batch = service.fastForwardAsync(game.getId()).join();
+            assertEquals(MoveBatchDto.StopReason.GAME_OVER, batch.getStopReason());
+            assertEquals(batch.getToVersion() - batch.getFromVersion(), batch.getCardsPlayed());
+            GameDto finished = service.getGame(game.getId());
+            assertTrue(finished.isGameFinished());
+            assertEquals(finished.getVersion(), batch.getToVersion());
+            if (batch.getWinnerIndex() != null) {
+                assertEquals(finished.getWinner().getId(), finished.getPlayers().get(batch.getWinnerIndex()).getId());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
     @Test
     @DisplayName("Should throw exception when playing card in non-existent game")
     void shouldThrowExceptionWhenPlayingCardInNonExistentGame() {
@@ -0,0 +1,83 @@
+package com.cavacamisa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameShardsTest {
+
+    private final GameShards shards = new GameShards(4);
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    @DisplayName("Should always map a game to the same shard")
+    void shouldAlwaysMapGameToSameShard() {
+        for (int i = 0; i < 100; i++) {
+            String gameId = "game-" + i;
+            int shard = shards.shardOf(gameId);
+
+            assertTrue(shard >= 0 && shard < shards.size());
+            assertEquals(shard, shards.shardOf(gameId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should run tasks for one game serially on one thread")
+    void shouldRunTasksForOneGameSeriallyOnOneThread() {
+        int[] counter = {0}; // deliberately unsynchronized
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(shards.submit("game", () -> {
+                counter[0]++;
+                return Thread.currentThread().getName();
+            }));
+        }
+
+        String firstThread = futures.get(0).join();
+        for (CompletableFuture<String> future : futures) {
+            assertEquals(firstThread, future.join());
+        }
+        assertEquals(10_000, counter[0]);
+    }
+
+    @Test
+    @DisplayName("Should propagate task exceptions")
+    void shouldPropagateTaskExceptions() {
+        CompletableFuture<Object> future = shards.submit("game", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid shard count")
+    void shouldRejectInvalidShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> new GameShards(0));
+    }
+
+    @Test
+    @DisplayName("Should run shard tasks on virtual threads when asked to")
+    void shouldRunShardTasksOnVirtualThreads() {
+        try (GameShards virtualShards = new GameShards(2, true)) {
+            Thread first = virtualShards.submit("game-1", Thread::currentThread).join();
+            Thread second = virtualShards.submit("game-1", Thread::currentThread).join();
+
+            assertTrue(first.isVirtual());
+            assertSame(first, second);
+            assertFalse(shards.submit("game-1", Thread::currentThread).join().isVirtual());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.config.CavacamisaProperties;
+import com.cavacamisa.dto.CreatePlayerRequest;
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.dto.PlayCardRequest;
+import com.cavacamisa.dto.PlayerDto;
+import com.cavacamisa.model.Game;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameUpdateBroadcasterTest {
+
+    private final GameUpdateBroadcaster broadcaster = new GameUpdateBroadcaster();
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    private static GameDto snapshot(String gameId, long version) {
+        GameDto dto = new GameDto(new Game(gameId), false);
+        dto.setVersion(version);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Should send the current snapshot on subscribe unless the client already has it")
+    void shouldSendCurrentSnapshotOnSubscribeUnlessClientAlreadyHasIt() throws Exception {
+        RecordingSink fresh = new RecordingSink();
+        RecordingSink reconnected = new RecordingSink();
+
+        broadcaster.subscribe("g", 3, snapshot("g", 3), -1, fresh);
+        broadcaster.subscribe("g", 3, snapshot("g", 3), 3, reconnected);
+
+        assertEquals(3, fresh.next());
+        assertNull(reconnected.updates.poll(200, TimeUnit.MILLISECONDS));
+        assertTrue(broadcaster.hasSubscribers("g"));
+    }
+
+    @Test
+    @DisplayName("Should fan every update out to all subscribers of the game")
+    void shouldFanEveryUpdateOutToAllSubscribersOfGame() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        RecordingSink otherGame = new RecordingSink();
+        broadcaster.subscribe("g", 1, snapshot("g", 1), 1, first);
+        broadcaster.subscribe("g", 1, snapshot("g", 1), 1, second);
+        broadcaster.subscribe("h", 1, snapshot("h", 1), 1, otherGame);
+
+        broadcaster.publish("g", 2, snapshot("g", 2));
+
+        assertEquals(2, first.next());
+        assertEquals(2, second.next());
+        assertNull(otherGame.updates.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should stop sending once a subscriber is removed")
+    void shouldStopSendingOnceSubscriberIsRemoved() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        Runnable remove = broadcaster.subscribe("g", 1, snapshot("g", 1), 1, sink);
+
+        remove.run(); // What the emitter's timeout and completion callbacks do
+
+        assertFalse(broadcaster.hasSubscribers("g"));
+        broadcaster.publish("g", 2, snapshot("g", 2));
+        assertNull(sink.updates.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose send fails")
+    void shouldDropSubscriberWhoseSendFails() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        sink.failing = true;
+        broadcaster.subscribe("g", 1, snapshot("g", 1), 1, sink);
+
+        broadcaster.publish("g", 2, snapshot("g", 2));
+
+        assertTrue(sink.failed.await(5, TimeUnit.SECONDS));
+        assertFalse(broadcaster.hasSubscribers("g"));
+    }
+
+    @Test
+    @DisplayName("Should complete the streams of a closed game")
+    void shouldCompleteStreamsOfClosedGame() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe("g", 1, snapshot("g", 1), 1, sink);
+
+        broadcaster.closeGame("g");
+
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertFalse(broadcaster.hasSubscribers("g"));
+    }
+
+    @Test
+    @DisplayName("Should complete open streams on shutdown")
+    void shouldCompleteOpenStreamsOnShutdown() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe("g", 1, snapshot("g", 1), 1, sink);
+
+        broadcaster.shutdown();
+
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        broadcaster.publish("g", 2, snapshot("g", 2)); // Nobody left, and no sender to run it
+        assertNull(sink.updates.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should push a move to the game's subscribers")
+    void shouldPushMoveToGameSubscribers() throws Exception {
+        GameService service = new GameService(new CavacamisaProperties(), broadcaster, new SimpleMeterRegistry());
+        try {
+            GameDto game = service.createGame();
+            CreatePlayerRequest request = new CreatePlayerRequest();
+            request.setName("Player 1");
+            PlayerDto player1 = service.createPlayer(request);
+            request.setName("Player 2");
+            PlayerDto player2 = service.createPlayer(request);
+            service.joinGame(game.getId(), player1.getId());
+            GameDto joined = service.joinGame(game.getId(), player2.getId());
+
+            RecordingSink sink = new RecordingSink();
+            service.subscribeAsync(game.getId(), joined.getVersion(), sink).join();
+            PlayCardRequest play = new PlayCardRequest();
+            play.setPlayerId(player1.getId());
+            GameDto played = service.playCard(game.getId(), play);
+
+            assertEquals(played.getVersion(), sink.next());
+            service.deleteGame(game.getId());
+            assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static final class RecordingSink implements GameUpdateBroadcaster.UpdateSink {
+        final BlockingQueue<Long> updates = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch failed = new CountDownLatch(1);
+        volatile boolean failing;
+
+        long next() throws InterruptedException {
+            Long sequence = updates.poll(5, TimeUnit.SECONDS);
+            assertNotNull(sequence, "no update pushed");
+            return sequence;
+        }
+
+        @Override
+        public void send(long sequence, GameDto snapshot) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            assertEquals(sequence, snapshot.getVersion());
+            updates.add(sequence);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            failed.countDown();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cavacamisa.service;
+
+import com.cavacamisa.dto.GameDto;
+import com.cavacamisa.model.Game;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+
+    private final Queue<List<String>> pairs = new ConcurrentLinkedQueue<>();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Set<String> gone = ConcurrentHashMap.newKeySet(); // Players deleted while waiting
+    private final Matchmaker matchmaker = new Matchmaker(this::startMatch, id -> !gone.contains(id), registry);
+
+    private CompletableFuture<GameDto> startMatch(String first, String second) {
+        pairs.add(List.of(first, second));
+        if (gone.contains(first) || gone.contains(second)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Matched player no longer exists"));
+        }
+        return CompletableFuture.completedFuture(new GameDto(new Game(first + "+" + second), false));
+    }
+
+    @Test
+    @DisplayName("Should pair players in arrival order")
+    void shouldPairPlayersInArrivalOrder() {
+        CompletableFuture<GameDto> a = matchmaker.enqueue("a");
+        assertFalse(a.isDone());
+        assertEquals(1, matchmaker.depth());
+        assertTrue(matchmaker.isWaiting("a"));
+
+        CompletableFuture<GameDto> b = matchmaker.enqueue("b");
+        CompletableFuture<GameDto> c = matchmaker.enqueue("c");
+
+        assertEquals("a+b", a.join().getId());
+        assertEquals("a+b", b.join().getId());
+        assertFalse(c.isDone());
+        assertEquals(1, matchmaker.depth());
+        assertEquals(List.of(List.of("a", "b")), new ArrayList<>(pairs));
+        assertEquals("a+b", matchmaker.matchOf("a").join().getId());
+        assertFalse(matchmaker.isWaiting("a"));
+        assertEquals(1.0, registry.get("cavacamisa.matchmaking.matches").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep a waiting player in place when enqueued twice")
+    void shouldKeepWaitingPlayerInPlaceWhenEnqueuedTwice() {
+        matchmaker.enqueue("a");
+        matchmaker.enqueue("a");
+
+        assertEquals(1, matchmaker.depth());
+        assertTrue(pairs.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip cancelled players")
+    void shouldSkipCancelledPlayers() {
+        CompletableFuture<GameDto> a = matchmaker.enqueue("a");
+        assertTrue(matchmaker.cancel("a"));
+        assertFalse(matchmaker.cancel("a"));
+        assertEquals(0, matchmaker.depth());
+        CompletionException failure = assertThrows(CompletionException.class, a::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        CompletableFuture<GameDto> b = matchmaker.enqueue("b");
+        CompletableFuture<GameDto> c = matchmaker.enqueue("c");
+
+        assertEquals("b+c", b.join().getId());
+        assertEquals("b+c", c.join().getId());
+        assertFalse(matchmaker.cancel("b")); // Already matched
+    }
+
+    @Test
+    @DisplayName("Should put the survivor of a failed match back at the head of the queue")
+    void shouldRequeueSurvivorOfFailedMatch() {
+        CompletableFuture<GameDto> a = matchmaker.enqueue("a");
+        gone.add("a"); // Deleted without the matchmaker hearing of it yet
+        CompletableFuture<GameDto> b = matchmaker.enqueue("b");
+
+        CompletionException failure = assertThrows(CompletionException.class, a::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertFalse(b.isDone());
+        assertTrue(matchmaker.isWaiting("b"));
+        assertEquals(1, matchmaker.depth());
+
+        CompletableFuture<GameDto> c = matchmaker.enqueue("c");
+        CompletableFuture<GameDto> d = matchmaker.enqueue("d");
+
+        assertEquals("b+c", b.join().getId());
+        assertEquals("b+c", c.join().getId());
+        assertFalse(d.isDone());
+        assertEquals(List.of(List.of("a", "b"), List.of("b", "c")), new ArrayList<>(pairs));
+        assertEquals(1.0, registry.get("cavacamisa.matchmaking.matches").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should pair every player exactly once under concurrent enqueues")
+    void shouldPairEveryPlayerExactlyOnceUnderConcurrentEnqueues() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        List<CompletableFuture<GameDto>> matches = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<CompletableFuture<List<CompletableFuture<GameDto>>>> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                producers.add(CompletableFuture.supplyAsync(() -> {
+                    List<CompletableFuture<GameDto>> mine = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        mine.add(matchmaker.enqueue(thread + "-" + i));
+                    }
+                    return mine;
+                }, executor));
+            }
+            for (CompletableFuture<List<CompletableFuture<GameDto>>> producer : producers) {
+                matches.addAll(producer.join());
+            }
+        }
+
+        assertEquals(0, matchmaker.depth());
+        assertEquals(threads * perThread / 2, pairs.size());
+        Set<String> paired = new HashSet<>();
+        for (List<String> pair : pairs) {
+            assertTrue(paired.add(pair.get(0)));
+            assertTrue(paired.add(pair.get(1)));
+        }
+        assertEquals(threads * perThread, paired.size());
+        assertTrue(matches.stream().allMatch(CompletableFuture::isDone));
+    }
+}
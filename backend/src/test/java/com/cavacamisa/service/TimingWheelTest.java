@@ -0,0 +1,93 @@
+package com.cavacamisa.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should expire keys once their deadline tick is reached")
+    void shouldExpireKeysOnceDeadlineTickIsReached() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.touch("a", 25);
+        wheel.touch("b", 40);
+
+        wheel.advance(29, expired::add);
+        assertTrue(expired.isEmpty()); // 25 rounds up to the tick ending at 30
+
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertFalse(wheel.contains("a"));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(40, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should keep keys whose deadline was pushed later")
+    void shouldKeepKeysWhoseDeadlineWasPushedLater() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.touch("a", 20);
+        wheel.touch("a", 70);
+
+        wheel.advance(60, expired::add);
+        assertTrue(expired.isEmpty());
+        assertTrue(wheel.contains("a"));
+
+        wheel.advance(70, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    @DisplayName("Should honour a deadline moved earlier")
+    void shouldHonourDeadlineMovedEarlier() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.touch("a", 500);
+        wheel.touch("a", 30);
+
+        wheel.advance(30, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(1000, expired::add);
+        assertEquals(List.of("a"), expired); // The old placement is stale
+    }
+
+    @Test
+    @DisplayName("Should handle deadlines beyond one revolution")
+    void shouldHandleDeadlinesBeyondOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0); // 80 ms per revolution
+        wheel.touch("a", 250);
+
+        wheel.advance(240, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(250, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    @DisplayName("Should not expire removed keys")
+    void shouldNotExpireRemovedKeys() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.touch("a", 20);
+        wheel.remove("a");
+        assertFalse(wheel.contains("a"));
+
+        wheel.advance(100, expired::add);
+        assertTrue(expired.isEmpty());
+
+        // A removed key can be registered again
+        assertTrue(wheel.touch("a", 150));
+        wheel.advance(150, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+}
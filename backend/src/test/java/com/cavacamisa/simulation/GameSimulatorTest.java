@@ -0,0 +1,87 @@
+package com.cavacamisa.simulation;
+
+import com.cavacamisa.model.Game;
+import com.cavacamisa.model.GameState;
+import com.cavacamisa.model.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulatorTest {
+
+    private final GameSimulator simulator = new GameSimulator();
+
+    @Test
+    @DisplayName("Should match the Game rules for the same seeded deal")
+    void shouldMatchGameRulesForSameSeededDeal() {
+        for (int i = 0; i < 200; i++) {
+            long seed = GameSimulator.seedFor(7L, i);
+            SimulationResult result = simulator.playOut(seed);
+
+            Game game = new Game("game-" + i, seed);
+            Player player1 = new Player("player1", "Player 1");
+            Player player2 = new Player("player2", "Player 2");
+            game.addPlayer(player1);
+            game.addPlayer(player2);
+            int moves = 0;
+            while (!game.isGameFinished() && moves < GameSimulator.DEFAULT_MAX_MOVES) {
+                if (game.getCurrentPlayer().hasCards()) {
+                    moves++;
+                }
+                assertTrue(game.playCard(game.getCurrentPlayer().getId()));
+            }
+
+            assertEquals(game.getState(), result.getState(), "seed " + seed);
+            assertEquals(game.getCycleLength(), result.getCycleLength(), "seed " + seed);
+            assertEquals(moves, result.getMoves(), "seed " + seed);
+            assertEquals(game.getTableCards().size(), result.getFinalTableSize(), "seed " + seed);
+            if (result.isFinished()) {
+                assertEquals(indexOf(game, game.getWinner()), result.getWinnerIndex(), "seed " + seed);
+                assertEquals(indexOf(game, game.getLoser()), result.getLoserIndex(), "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce the same results regardless of parallelism")
+    void shouldProduceSameResultsRegardlessOfParallelism() {
+        SimulationResult[] parallel = simulator.simulate(11L, 1_000);
+        SimulationResult[] sequential;
+        try (ForkJoinPool single = new ForkJoinPool(1)) {
+            sequential = new GameSimulator(GameSimulator.DEFAULT_MAX_MOVES, single).simulate(11L, 1_000);
+        }
+
+        assertEquals(1_000, parallel.length);
+        for (int i = 0; i < parallel.length; i++) {
+            assertEquals(GameSimulator.seedFor(11L, i), parallel[i].getSeed());
+            assertEquals(sequential[i].getMoves(), parallel[i].getMoves());
+            assertEquals(sequential[i].getWinnerIndex(), parallel[i].getWinnerIndex());
+            assertEquals(sequential[i].getTotalCaptures(), parallel[i].getTotalCaptures());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop at the move limit")
+    void shouldStopAtMoveLimit() {
+        SimulationResult result = new GameSimulator(5, ForkJoinPool.commonPool()).playOut(3L);
+
+        assertEquals(GameState.PLAYING, result.getState());
+        assertFalse(result.isFinished());
+        assertEquals(5, result.getMoves());
+        assertEquals(-1, result.getWinnerIndex());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GameSimulator(0, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(1L, -1));
+    }
+
+    private static int indexOf(Game game, Player player) {
+        return game.getPlayers().indexOf(player);
+    }
+}
@@ -42,10 +42,15 @@ export const useGameState = (gameId) => {
     }
   }, [gameId]);
 
-  // Initial fetch only (no polling)
+  // Initial fetch, then the server pushes every change (including the opponent's moves)
   useEffect(() => {
     fetchGameState();
-  }, [fetchGameState]);
+    if (!gameId) return undefined;
+    return GameService.subscribeToGame(gameId, (state) => {
+      setGameState(state);
+      setError(null);
+    });
+  }, [gameId, fetchGameState]);
 
   const playCard = useCallback(async (playerId) => {
     if (!gameId || !playerId) {
@@ -60,7 +65,7 @@ export const useGameState = (gameId) => {
       const result = await GameService.playCard(gameId, playerId);
       console.log('🎴 Card played successfully:', result.tableCards[result.tableCards.length - 1]);
       
-      await fetchGameState(); // Refresh game state after playing
+      setGameState(result); // The response already carries the new state
       return true;
     } catch (err) {
       console.error('❌ Error playing card:', err.message);
@@ -69,7 +74,7 @@ export const useGameState = (gameId) => {
     } finally {
       setIsLoading(false);
     }
-  }, [gameId, fetchGameState]);
+  }, [gameId]);
 
   return {
     gameState,
@@ -85,6 +85,18 @@ export const GameService = {
     }
   },
 
+  // Server-Sent Events stream of game snapshots; EventSource reconnects and resumes by itself
+  subscribeToGame(gameId, onUpdate, onError) {
+    const source = new EventSource(`${API_BASE_URL}/game/${gameId}/events`);
+    source.addEventListener('game', (event) => {
+      onUpdate(JSON.parse(event.data), Number(event.lastEventId));
+    });
+    if (onError) {
+      source.onerror = onError;
+    }
+    return () => source.close();
+  },
+
   async getGameState(gameId) {
     try {
       const response = await fetch(`${API_BASE_URL}/game/${gameId}`);